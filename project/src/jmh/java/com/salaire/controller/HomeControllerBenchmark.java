@@ -0,0 +1,126 @@
+package com.salaire.controller;
+
+import com.salaire.CalculateurSalaireNetApplication;
+import com.salaire.entity.CalculSalaire;
+import com.salaire.entity.User;
+import com.salaire.service.CalculSalaireService;
+import com.salaire.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latence de la page d'accueil (GET /, HomeController.accueil) selon le profil :
+ * dev (templates relus à chaque requête, SQL et sécurité journalisés en DEBUG) ou prod
+ * (templates et fragments statiques en cache). Les journaux sont écrits dans un fichier
+ * sous target/ plutôt que sur la console, comme sur un serveur.
+ *
+ * Avec {@code authentifie}, la session est ouverte une fois (HTTP Basic) et la page affiche
+ * le tableau de bord de l'utilisateur.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="HomeControllerBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class HomeControllerBenchmark {
+    
+    @Param({"dev", "prod"})
+    private String profil;
+    
+    @Param({"false", "true"})
+    private boolean authentifie;
+    
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest requeteAccueil;
+    
+    @Setup(Level.Trial)
+    public void demarrer() throws Exception {
+        context = new SpringApplicationBuilder(CalculateurSalaireNetApplication.class)
+            .profiles(profil)
+            .run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark-accueil;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.h2.console.enabled=false",
+                "--spring.devtools.restart.enabled=false",
+                "--logging.pattern.console=",
+                "--logging.file.name=target/benchmark-accueil-" + profil + ".log");
+        
+        User user = context.getBean(UserService.class)
+            .enregistrerUtilisateur(new User("benchmark", "benchmark@example.com", "benchmark"));
+        List<CalculSalaire> calculs = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            CalculSalaire calcul = new CalculSalaire();
+            calcul.setSalaireBrut(BigDecimal.valueOf(2000 + i * 50));
+            calculs.add(calcul);
+        }
+        context.getBean(CalculSalaireService.class).sauvegarderCalculs(calculs, user);
+        
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = HttpClient.newBuilder()
+            .cookieHandler(new CookieManager())
+            .build();
+        requeteAccueil = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/")).build();
+        
+        if (authentifie) {
+            // La première requête authentifiée ouvre la session ; les suivantes n'envoient que le cookie
+            String identifiants = Base64.getEncoder().encodeToString("benchmark:benchmark".getBytes(StandardCharsets.UTF_8));
+            client.send(HttpRequest.newBuilder(requeteAccueil.uri())
+                    .header("Authorization", "Basic " + identifiants)
+                    .build(),
+                HttpResponse.BodyHandlers.discarding());
+        }
+        String page = client.send(requeteAccueil, HttpResponse.BodyHandlers.ofString()).body();
+        if (authentifie != page.contains("Derniers calculs")) {
+            throw new IllegalStateException("Page d'accueil inattendue");
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void arreter() {
+        context.close();
+    }
+    
+    @Benchmark
+    public int afficherAccueil() throws Exception {
+        HttpResponse<byte[]> reponse = client.send(requeteAccueil, HttpResponse.BodyHandlers.ofByteArray());
+        if (reponse.statusCode() != 200) {
+            throw new IllegalStateException("Réponse inattendue : " + reponse.statusCode());
+        }
+        return reponse.body().length;
+    }
+}
@@ -0,0 +1,193 @@
+package com.salaire.controller.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.salaire.CalculateurSalaireNetApplication;
+import com.salaire.entity.CalculSalaire;
+import com.salaire.entity.User;
+import com.salaire.service.CalculSalaireService;
+import com.salaire.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test de charge HTTP de l'historique paginé (GET /api/salaire/historique), avec et sans threads virtuels.
+ *
+ * Chaque invocation envoie {@code concurrence} requêtes simultanées et attend toutes les réponses :
+ * le débit vaut concurrence / temps moyen. La latence d'une base distante est simulée par une attente
+ * de {@code latenceJdbc} ms à chaque obtention de connexion (une par requête HTTP), connexion tenue,
+ * et le pool de connexions compte {@code connexions} connexions au plus.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="SalaireApiControllerBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SalaireApiControllerBenchmark {
+    
+    @Param({"false", "true"})
+    private boolean threadsVirtuels;
+    
+    @Param({"200", "2000"})
+    private int concurrence;
+    
+    @Param({"20", "2000"})
+    private int connexions;
+    
+    @Param({"20"})
+    private long latenceJdbc;
+    
+    private ConfigurableApplicationContext context;
+    private ExecutorService executeurClient;
+    private HttpClient client;
+    private HttpRequest requeteHistorique;
+    
+    @Setup(Level.Trial)
+    public void demarrer() throws Exception {
+        System.setProperty("benchmark.latence-jdbc", Long.toString(latenceJdbc));
+        context = new SpringApplicationBuilder(CalculateurSalaireNetApplication.class, Instrumentation.class)
+            .run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + threadsVirtuels,
+                "--spring.datasource.url=jdbc:h2:mem:benchmark-http;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.hikari.maximum-pool-size=" + connexions,
+                "--spring.datasource.hikari.connection-timeout=60000",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--spring.h2.console.enabled=false",
+                "--spring.devtools.restart.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.salaire=WARN",
+                "--logging.level.org.springframework.security=WARN");
+        
+        User user = context.getBean(UserService.class)
+            .enregistrerUtilisateur(new User("benchmark", "benchmark@example.com", "benchmark"));
+        List<CalculSalaire> calculs = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            CalculSalaire calcul = new CalculSalaire();
+            calcul.setSalaireBrut(BigDecimal.valueOf(2000 + i * 50));
+            calculs.add(calcul);
+        }
+        context.getBean(CalculSalaireService.class).sauvegarderCalculs(calculs, user);
+        
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        String base = "http://localhost:" + port;
+        executeurClient = Executors.newVirtualThreadPerTaskExecutor();
+        client = HttpClient.newBuilder()
+            .executor(executeurClient)
+            .build();
+        
+        // Jeton d'accès obtenu une fois (HTTP Basic), puis présenté à chaque requête de l'API sans session
+        String identifiants = Base64.getEncoder().encodeToString("benchmark:benchmark".getBytes(StandardCharsets.UTF_8));
+        String reponseJeton = client.send(HttpRequest.newBuilder(URI.create(base + "/api/auth/jeton"))
+                .header("Authorization", "Basic " + identifiants)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build(),
+            HttpResponse.BodyHandlers.ofString()).body();
+        String jeton = context.getBean(ObjectMapper.class).readTree(reponseJeton).path("jeton").asText();
+        
+        requeteHistorique = HttpRequest.newBuilder(URI.create(base + "/api/salaire/historique?taille=20"))
+            .header("Authorization", "Bearer " + jeton)
+            .build();
+        if (client.send(requeteHistorique, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+            throw new IllegalStateException("Connexion du benchmark refusée");
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void arreter() {
+        executeurClient.shutdownNow();
+        context.close();
+    }
+    
+    @Benchmark
+    public int chargerHistorique() {
+        List<CompletableFuture<HttpResponse<byte[]>>> reponses = new ArrayList<>(concurrence);
+        for (int i = 0; i < concurrence; i++) {
+            reponses.add(client.sendAsync(requeteHistorique, HttpResponse.BodyHandlers.ofByteArray()));
+        }
+        int taille = 0;
+        for (CompletableFuture<HttpResponse<byte[]>> reponse : reponses) {
+            HttpResponse<byte[]> resultat = reponse.join();
+            if (resultat.statusCode() != 200) {
+                throw new IllegalStateException("Réponse inattendue : " + resultat.statusCode());
+            }
+            taille += resultat.body().length;
+        }
+        return taille;
+    }
+    
+    /**
+     * Latence simulée de la base
+     */
+    @Configuration
+    static class Instrumentation {
+        
+        @Bean
+        static BeanPostProcessor latenceJdbc() {
+            long latence = Long.getLong("benchmark.latence-jdbc", 0);
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource) || latence <= 0) {
+                        return bean;
+                    }
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            Connection connexion = super.getConnection();
+                            try {
+                                Thread.sleep(latence);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                            return connexion;
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.salaire.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.salaire.entity.CalculSalaire;
+import com.salaire.service.BaremeService;
+import com.salaire.service.SalaireCalculatorService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sérialisation JSON d'un historique de 200 calculs : entités complètes, forme compacte
+ * (CalculCompact) en euros ou en centimes, avec ou sans le module Blackbird.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="CalculCompactBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CalculCompactBenchmark {
+    
+    @Param({"false", "true"})
+    private boolean blackbird;
+    
+    private ObjectMapper objectMapper;
+    private List<CalculSalaire> calculs;
+    
+    @Setup(Level.Trial)
+    public void preparer() {
+        JsonMapper.Builder builder = JsonMapper.builder().addModule(new JavaTimeModule());
+        if (blackbird) {
+            builder.addModule(new BlackbirdModule());
+        }
+        objectMapper = builder.build();
+        
+        BaremeService baremeService = new BaremeService("classpath*:baremes/*.properties");
+        baremeService.recharger();
+        SalaireCalculatorService calculatorService = new SalaireCalculatorService(baremeService, "decimal", new SimpleMeterRegistry());
+        calculs = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            CalculSalaire calcul = new CalculSalaire();
+            calcul.setId((long) i + 1);
+            calcul.setCreatedAt(LocalDateTime.of(2025, 1, 1, 12, 0).plusMinutes(i));
+            calcul.setSalaireBrut(BigDecimal.valueOf(2000 + i * 37.5).setScale(2));
+            if (i % 5 == 0) {
+                calcul.setPrimes(BigDecimal.valueOf(150).setScale(2));
+            }
+            calculs.add(calculatorService.calculerSalaireNet(calcul));
+        }
+    }
+    
+    @Benchmark
+    public byte[] entites() throws Exception {
+        return objectMapper.writeValueAsBytes(calculs);
+    }
+    
+    @Benchmark
+    public byte[] compact() throws Exception {
+        return objectMapper.writeValueAsBytes(calculs.stream().map(calcul -> CalculCompact.de(calcul, false)).toList());
+    }
+    
+    @Benchmark
+    public byte[] centimes() throws Exception {
+        return objectMapper.writeValueAsBytes(calculs.stream().map(calcul -> CalculCompact.de(calcul, true)).toList());
+    }
+}
@@ -0,0 +1,123 @@
+package com.salaire.service;
+
+import com.salaire.CalculateurSalaireNetApplication;
+import com.salaire.entity.CalculSalaire;
+import com.salaire.entity.User;
+import com.salaire.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de bout en bout du service de calcul, contexte Spring démarré sur une base H2 embarquée :
+ * calculs en lot sur le pool de calcul et sauvegarde unitaire (calcul + insertion).
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="CalculSalaireServiceBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CalculSalaireServiceBenchmark {
+    
+    @Param({"decimal", "centimes"})
+    private String moteur;
+    
+    private ConfigurableApplicationContext context;
+    private CalculSalaireService calculSalaireService;
+    private User user;
+    
+    /**
+     * Lot de calculs aléatoires, dont la taille ne s'applique qu'au benchmark de lot
+     */
+    @State(Scope.Benchmark)
+    public static class Lot {
+        
+        @Param({"100", "10000"})
+        private int tailleLot;
+        
+        private List<CalculSalaire> calculs;
+        
+        @Setup(Level.Trial)
+        public void preparer() {
+            SplittableRandom random = new SplittableRandom(42);
+            calculs = new ArrayList<>(tailleLot);
+            for (int i = 0; i < tailleLot; i++) {
+                calculs.add(nouveauCalcul(BigDecimal.valueOf(random.nextLong(120_000, 2_500_000), 2)));
+            }
+        }
+    }
+    
+    @Setup(Level.Trial)
+    public void demarrer() {
+        // Arguments de ligne de commande : prioritaires sur application.properties
+        context = new SpringApplicationBuilder(CalculateurSalaireNetApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.salaire=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--salaire.calcul.moteur=" + moteur);
+        calculSalaireService = context.getBean(CalculSalaireService.class);
+        
+        user = context.getBean(UserRepository.class)
+            .save(new User("benchmark", "benchmark@example.com", "benchmark"));
+    }
+    
+    @TearDown(Level.Trial)
+    public void arreter() {
+        context.close();
+    }
+    
+    @Benchmark
+    public Object effectuerCalculsEnLot(Lot lot) {
+        return calculSalaireService.effectuerCalculsEnLot(lot.calculs);
+    }
+    
+    @Benchmark
+    public CalculSalaire sauvegarderCalcul() {
+        CalculSalaire calcul = nouveauCalcul(new BigDecimal("3250.00"));
+        calcul.setUser(user);
+        return calculSalaireService.sauvegarderCalcul(calcul);
+    }
+    
+    private static CalculSalaire nouveauCalcul(BigDecimal salaireBrut) {
+        CalculSalaire calcul = new CalculSalaire();
+        calcul.setSalaireBrut(salaireBrut);
+        calcul.setPrimes(BigDecimal.ZERO);
+        calcul.setIndemnites(BigDecimal.ZERO);
+        calcul.setAvantagesNature(BigDecimal.ZERO);
+        calcul.setHeuresSupplementaires(BigDecimal.ZERO);
+        calcul.setNombreParts(BigDecimal.valueOf(1.0));
+        return calcul;
+    }
+}
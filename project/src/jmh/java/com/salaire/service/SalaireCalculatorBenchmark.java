@@ -0,0 +1,84 @@
+package com.salaire.service;
+
+import com.salaire.bareme.Bareme;
+import com.salaire.entity.CalculSalaire;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks unitaires du moteur de calcul, pour chaque tranche du barème
+ * et chaque moteur (decimal / centimes).
+ *
+ * Le taux d'allocation s'obtient avec le profileur GC :
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="SalaireCalculatorBenchmark -prof gc"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SalaireCalculatorBenchmark {
+    
+    // Un salaire brut par tranche : 0%, 11%, 30%, 41% et 45%
+    @Param({"1000.00", "2500.00", "6000.00", "12000.00", "25000.00"})
+    private String salaireBrut;
+    
+    @Param({"1.0", "2.5"})
+    private String nombreParts;
+    
+    @Param({"decimal", "centimes"})
+    private String moteur;
+    
+    private SalaireCalculatorService calculatorService;
+    private Bareme bareme;
+    private CalculSalaire calcul;
+    private BigDecimal revenuImposable;
+    private BigDecimal parts;
+    
+    @Setup
+    public void preparer() {
+        BaremeService baremeService = new BaremeService("classpath*:baremes/*.properties");
+        baremeService.recharger();
+        calculatorService = new SalaireCalculatorService(baremeService, moteur, new SimpleMeterRegistry());
+        bareme = baremeService.baremePour(LocalDate.of(2025, 6, 1));
+        calcul = new CalculSalaire();
+        calcul.setSalaireBrut(new BigDecimal(salaireBrut));
+        calcul.setPrimes(new BigDecimal("150.00"));
+        calcul.setIndemnites(BigDecimal.ZERO);
+        calcul.setAvantagesNature(BigDecimal.ZERO);
+        calcul.setHeuresSupplementaires(new BigDecimal("85.50"));
+        parts = new BigDecimal(nombreParts);
+        calcul.setNombreParts(parts);
+        revenuImposable = new BigDecimal(salaireBrut).multiply(new BigDecimal("0.78"));
+    }
+    
+    @Benchmark
+    public CalculSalaire calculerSalaireNet() {
+        return calculatorService.calculerSalaireNet(calcul);
+    }
+    
+    @Benchmark
+    public BigDecimal calculerImpotRevenu() {
+        return calculatorService.calculerImpotRevenu(revenuImposable, parts, bareme);
+    }
+    
+    @Benchmark
+    public BigDecimal salaireBrutTotal() {
+        return calcul.getSalaireBrutTotal();
+    }
+}
@@ -0,0 +1,140 @@
+package com.salaire.bareme;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Barème de calcul immuable : taux de cotisations, plafonds et tranches d'impôt
+ * applicables à partir d'une date d'effet.
+ *
+ * Les tranches sont compilées une fois pour toutes en tableaux triés, ainsi qu'en
+ * entiers (centimes / dix-millièmes) pour le moteur de calcul en centimes.
+ */
+public final class Bareme {
+    
+    private final int annee;
+    private final LocalDate dateEffet;
+    private final String version;
+    
+    // Taux de cotisations sociales (salarié)
+    private final BigDecimal tauxSecuMaladie;
+    private final BigDecimal tauxChomage;
+    private final BigDecimal tauxRetraiteBase;
+    private final BigDecimal tauxRetraiteComplementaire;
+    private final BigDecimal tauxCsgDeductible;
+    private final BigDecimal tauxCsgNonDeductible;
+    private final BigDecimal tauxCrds;
+    
+    // Plafonds et assiettes
+    private final BigDecimal plafondSecuMensuel;
+    private final BigDecimal plafondChomage;
+    private final BigDecimal abattementCsgCrds;
+    
+    // Barème progressif mensuel de l'impôt sur le revenu (seuils croissants)
+    private final BigDecimal[] seuilsTranches;
+    private final BigDecimal[] tauxTranches;
+    
+    // Impôt cumulé au seuil bas de chaque tranche (somme exacte des tranches pleines inférieures)
+    private final BigDecimal[] impotsCumules;
+    
+    private final BaremeCentimes centimes;
+    
+    public Bareme(int annee, LocalDate dateEffet, String version,
+                  BigDecimal tauxSecuMaladie, BigDecimal tauxChomage,
+                  BigDecimal tauxRetraiteBase, BigDecimal tauxRetraiteComplementaire,
+                  BigDecimal tauxCsgDeductible, BigDecimal tauxCsgNonDeductible, BigDecimal tauxCrds,
+                  BigDecimal plafondSecuMensuel, BigDecimal multiplePlafondChomage, BigDecimal abattementCsgCrds,
+                  BigDecimal[] seuilsTranches, BigDecimal[] tauxTranches) {
+        if (seuilsTranches.length == 0 || seuilsTranches.length != tauxTranches.length) {
+            throw new IllegalArgumentException("Le barème " + version + " doit avoir autant de seuils que de taux");
+        }
+        for (int i = 1; i < seuilsTranches.length; i++) {
+            if (seuilsTranches[i].compareTo(seuilsTranches[i - 1]) <= 0) {
+                throw new IllegalArgumentException("Les seuils du barème " + version + " doivent être croissants");
+            }
+        }
+        
+        this.annee = annee;
+        this.dateEffet = dateEffet;
+        this.version = version;
+        this.tauxSecuMaladie = tauxSecuMaladie;
+        this.tauxChomage = tauxChomage;
+        this.tauxRetraiteBase = tauxRetraiteBase;
+        this.tauxRetraiteComplementaire = tauxRetraiteComplementaire;
+        this.tauxCsgDeductible = tauxCsgDeductible;
+        this.tauxCsgNonDeductible = tauxCsgNonDeductible;
+        this.tauxCrds = tauxCrds;
+        this.plafondSecuMensuel = plafondSecuMensuel;
+        this.plafondChomage = plafondSecuMensuel.multiply(multiplePlafondChomage);
+        this.abattementCsgCrds = abattementCsgCrds;
+        this.seuilsTranches = seuilsTranches.clone();
+        this.tauxTranches = tauxTranches.clone();
+        this.impotsCumules = new BigDecimal[seuilsTranches.length];
+        this.impotsCumules[0] = BigDecimal.ZERO;
+        for (int i = 1; i < seuilsTranches.length; i++) {
+            BigDecimal tranche = seuilsTranches[i].subtract(seuilsTranches[i - 1]);
+            this.impotsCumules[i] = this.impotsCumules[i - 1].add(tranche.multiply(tauxTranches[i - 1]));
+        }
+        this.centimes = BaremeCentimes.compiler(this);
+    }
+    
+    public int getAnnee() { return annee; }
+    
+    public LocalDate getDateEffet() { return dateEffet; }
+    
+    public String getVersion() { return version; }
+    
+    public BigDecimal getTauxSecuMaladie() { return tauxSecuMaladie; }
+    
+    public BigDecimal getTauxChomage() { return tauxChomage; }
+    
+    public BigDecimal getTauxRetraiteBase() { return tauxRetraiteBase; }
+    
+    public BigDecimal getTauxRetraiteComplementaire() { return tauxRetraiteComplementaire; }
+    
+    public BigDecimal getTauxCsgDeductible() { return tauxCsgDeductible; }
+    
+    public BigDecimal getTauxCsgNonDeductible() { return tauxCsgNonDeductible; }
+    
+    public BigDecimal getTauxCrds() { return tauxCrds; }
+    
+    public BigDecimal getPlafondSecuMensuel() { return plafondSecuMensuel; }
+    
+    /**
+     * Plafond de l'assiette chômage et retraite de base (multiple du plafond mensuel)
+     */
+    public BigDecimal getPlafondChomage() { return plafondChomage; }
+    
+    public BigDecimal getAbattementCsgCrds() { return abattementCsgCrds; }
+    
+    public int getNombreTranches() { return seuilsTranches.length; }
+    
+    /**
+     * Seuil bas de la tranche i (la tranche 0 est taxée au-delà du premier seuil)
+     */
+    public BigDecimal getSeuilTranche(int i) { return seuilsTranches[i]; }
+    
+    public BigDecimal getTauxTranche(int i) { return tauxTranches[i]; }
+    
+    /**
+     * Impôt (par part) dû sur un quotient égal au seuil bas de la tranche i
+     */
+    public BigDecimal getImpotCumule(int i) { return impotsCumules[i]; }
+    
+    /**
+     * Tranche contenant un quotient familial, par recherche dichotomique
+     *
+     * @return l'indice de la dernière tranche dont le seuil est strictement inférieur au quotient,
+     *         ou -1 si le quotient n'excède pas le premier seuil (non imposable)
+     */
+    public int indiceTranche(BigDecimal quotient) {
+        int position = Arrays.binarySearch(seuilsTranches, quotient);
+        return (position >= 0 ? position : -position - 1) - 1;
+    }
+    
+    /**
+     * Forme entière du barème, ou null si un taux ou un seuil n'y est pas représentable exactement
+     */
+    public BaremeCentimes getCentimes() { return centimes; }
+}
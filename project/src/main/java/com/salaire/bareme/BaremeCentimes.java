@@ -0,0 +1,106 @@
+package com.salaire.bareme;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Forme entière d'un barème : montants en centimes et taux en dix-millièmes
+ */
+public final class BaremeCentimes {
+    
+    public static final int ECHELLE_TAUX = 4;
+    public static final long UNITE_TAUX = 10_000L;
+    
+    private final long tauxSecuMaladie;
+    private final long tauxChomage;
+    private final long tauxRetraiteBase;
+    private final long tauxRetraiteComplementaire;
+    private final long tauxCsgDeductible;
+    private final long tauxCsgNonDeductible;
+    private final long tauxCrds;
+    private final long abattementCsgCrds;
+    private final long plafondChomage;
+    private final long[] seuilsTranches;
+    private final long[] tauxTranches;
+    // Impôt cumulé au seuil bas de chaque tranche, en centimes x 10^-4
+    private final long[] impotsCumules;
+    
+    private BaremeCentimes(Bareme bareme) {
+        this.tauxSecuMaladie = taux(bareme.getTauxSecuMaladie());
+        this.tauxChomage = taux(bareme.getTauxChomage());
+        this.tauxRetraiteBase = taux(bareme.getTauxRetraiteBase());
+        this.tauxRetraiteComplementaire = taux(bareme.getTauxRetraiteComplementaire());
+        this.tauxCsgDeductible = taux(bareme.getTauxCsgDeductible());
+        this.tauxCsgNonDeductible = taux(bareme.getTauxCsgNonDeductible());
+        this.tauxCrds = taux(bareme.getTauxCrds());
+        this.abattementCsgCrds = taux(bareme.getAbattementCsgCrds());
+        this.plafondChomage = centimes(bareme.getPlafondChomage());
+        
+        int nombreTranches = bareme.getNombreTranches();
+        this.seuilsTranches = new long[nombreTranches];
+        this.tauxTranches = new long[nombreTranches];
+        for (int i = 0; i < nombreTranches; i++) {
+            this.seuilsTranches[i] = centimes(bareme.getSeuilTranche(i));
+            this.tauxTranches[i] = taux(bareme.getTauxTranche(i));
+        }
+        this.impotsCumules = new long[nombreTranches];
+        for (int i = 1; i < nombreTranches; i++) {
+            this.impotsCumules[i] = Math.addExact(this.impotsCumules[i - 1],
+                Math.multiplyExact(this.seuilsTranches[i] - this.seuilsTranches[i - 1], this.tauxTranches[i - 1]));
+        }
+    }
+    
+    static BaremeCentimes compiler(Bareme bareme) {
+        try {
+            return new BaremeCentimes(bareme);
+        } catch (ArithmeticException e) {
+            // Taux à plus de 4 décimales ou seuil au-delà du centime
+            return null;
+        }
+    }
+    
+    public long getTauxSecuMaladie() { return tauxSecuMaladie; }
+    
+    public long getTauxChomage() { return tauxChomage; }
+    
+    public long getTauxRetraiteBase() { return tauxRetraiteBase; }
+    
+    public long getTauxRetraiteComplementaire() { return tauxRetraiteComplementaire; }
+    
+    public long getTauxCsgDeductible() { return tauxCsgDeductible; }
+    
+    public long getTauxCsgNonDeductible() { return tauxCsgNonDeductible; }
+    
+    public long getTauxCrds() { return tauxCrds; }
+    
+    public long getAbattementCsgCrds() { return abattementCsgCrds; }
+    
+    public long getPlafondChomage() { return plafondChomage; }
+    
+    public int getNombreTranches() { return seuilsTranches.length; }
+    
+    public long getSeuilTranche(int i) { return seuilsTranches[i]; }
+    
+    public long getTauxTranche(int i) { return tauxTranches[i]; }
+    
+    /**
+     * Impôt (par part) dû sur un quotient égal au seuil bas de la tranche i, en centimes x 10^-4
+     */
+    public long getImpotCumule(int i) { return impotsCumules[i]; }
+    
+    /**
+     * Tranche contenant un quotient familial en centimes (voir {@link Bareme#indiceTranche})
+     */
+    public int indiceTranche(long quotient) {
+        int position = Arrays.binarySearch(seuilsTranches, quotient);
+        return (position >= 0 ? position : -position - 1) - 1;
+    }
+    
+    private static long taux(BigDecimal taux) {
+        return taux.setScale(ECHELLE_TAUX).unscaledValue().longValueExact();
+    }
+    
+    private static long centimes(BigDecimal montant) {
+        return montant.setScale(2).unscaledValue().longValueExact();
+    }
+}
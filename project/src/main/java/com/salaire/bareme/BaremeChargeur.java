@@ -0,0 +1,74 @@
+package com.salaire.bareme;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Properties;
+
+/**
+ * Lecture d'un barème depuis un fichier properties
+ *
+ * Exemple : voir classpath:baremes/bareme-2025.properties
+ */
+public final class BaremeChargeur {
+    
+    private BaremeChargeur() {
+    }
+    
+    /**
+     * Lit et compile un barème
+     *
+     * @param source nom du fichier, utilisé dans les messages d'erreur
+     * @throws IllegalArgumentException si une clé est absente ou invalide
+     */
+    public static Bareme charger(String source, InputStream entree) throws IOException {
+        Properties proprietes = new Properties();
+        proprietes.load(new InputStreamReader(entree, StandardCharsets.UTF_8));
+        
+        try {
+            return new Bareme(
+                Integer.parseInt(obligatoire(proprietes, source, "annee")),
+                LocalDate.parse(obligatoire(proprietes, source, "date-effet")),
+                obligatoire(proprietes, source, "version"),
+                montant(proprietes, source, "cotisations.secu-maladie"),
+                montant(proprietes, source, "cotisations.chomage"),
+                montant(proprietes, source, "cotisations.retraite-base"),
+                montant(proprietes, source, "cotisations.retraite-complementaire"),
+                montant(proprietes, source, "cotisations.csg-deductible"),
+                montant(proprietes, source, "cotisations.csg-non-deductible"),
+                montant(proprietes, source, "cotisations.crds"),
+                montant(proprietes, source, "plafond.secu-mensuel"),
+                montant(proprietes, source, "plafond.chomage-multiple"),
+                montant(proprietes, source, "csg-crds.abattement"),
+                liste(proprietes, source, "impot.tranches.seuils"),
+                liste(proprietes, source, "impot.tranches.taux"));
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Valeur invalide dans le barème " + source + " : " + e.getMessage(), e);
+        }
+    }
+    
+    private static String obligatoire(Properties proprietes, String source, String cle) {
+        String valeur = proprietes.getProperty(cle);
+        if (valeur == null || valeur.isBlank()) {
+            throw new IllegalArgumentException("Clé " + cle + " absente du barème " + source);
+        }
+        return valeur.trim();
+    }
+    
+    private static BigDecimal montant(Properties proprietes, String source, String cle) {
+        return new BigDecimal(obligatoire(proprietes, source, cle));
+    }
+    
+    private static BigDecimal[] liste(Properties proprietes, String source, String cle) {
+        String[] valeurs = obligatoire(proprietes, source, cle).split(",");
+        BigDecimal[] montants = new BigDecimal[valeurs.length];
+        for (int i = 0; i < valeurs.length; i++) {
+            montants[i] = new BigDecimal(valeurs[i].trim());
+        }
+        return montants;
+    }
+}
@@ -0,0 +1,7 @@
+package com.salaire.bareme;
+
+/**
+ * Événement publié après chaque rechargement des barèmes
+ */
+public record BaremesRechargesEvent(int nombreBaremes) {
+}
@@ -0,0 +1,40 @@
+package com.salaire.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Configuration du pool de threads dédié aux calculs en lot
+ */
+@Configuration
+public class CalculExecutorConfig {
+    
+    @Value("${salaire.lot.threads:0}")
+    private int nombreThreads;
+    
+    @Value("${salaire.lot.file-attente:1000}")
+    private int capaciteFileAttente;
+    
+    /**
+     * Pool borné : un thread par cœur par défaut, et le thread appelant
+     * exécute lui-même les tâches lorsque la file d'attente est pleine
+     */
+    @Bean(name = "calculExecutor")
+    public ThreadPoolTaskExecutor calculExecutor() {
+        int threads = nombreThreads > 0 ? nombreThreads : Runtime.getRuntime().availableProcessors();
+        
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(capaciteFileAttente);
+        executor.setThreadNamePrefix("calcul-lot-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,37 @@
+package com.salaire.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuration du pool de threads dédié au hachage des mots de passe
+ */
+@Configuration
+public class HachageExecutorConfig {
+    
+    @Value("${salaire.securite.hachage.threads:0}")
+    private int nombreThreads;
+    
+    @Value("${salaire.securite.hachage.file-attente:100}")
+    private int capaciteFileAttente;
+    
+    /**
+     * Pool borné : la moitié des cœurs par défaut (au moins un), afin que les rafales de connexions
+     * et d'inscriptions laissent du temps processeur aux calculs ; les demandes au-delà de la file
+     * d'attente sont refusées plutôt qu'exécutées par le thread appelant
+     */
+    @Bean(name = "hachageExecutor")
+    public ThreadPoolTaskExecutor hachageExecutor() {
+        int threads = nombreThreads > 0 ? nombreThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(capaciteFileAttente);
+        executor.setThreadNamePrefix("hachage-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,21 @@
+package com.salaire.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration de Jackson : les modules déclarés ici sont ajoutés à l'ObjectMapper de Spring Boot
+ */
+@Configuration
+public class JacksonConfig {
+    
+    /**
+     * Remplace les accès par réflexion aux getters et constructeurs par des accesseurs générés
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
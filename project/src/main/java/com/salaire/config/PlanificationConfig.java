@@ -0,0 +1,12 @@
+package com.salaire.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Active les tâches planifiées (réconciliation des statistiques)
+ */
+@Configuration
+@EnableScheduling
+public class PlanificationConfig {
+}
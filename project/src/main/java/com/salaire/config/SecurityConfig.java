@@ -1,23 +1,177 @@
 package com.salaire.config;
 
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import com.salaire.security.EncodeurMotDePasseBorne;
+import com.salaire.security.JetonService;
+import com.salaire.security.LimiteHachageFilter;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.web.SecurityFilterChain;
 
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
 /**
  * Configuration de la sécurité Spring Security
+ *
+ * Trois chaînes de filtres : l'API REST (/api/**) et l'actuator (/actuator/**), sans session,
+ * et les pages, avec connexion par formulaire et session.
  */
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
     
+    // Secret de application.properties, refusé avec le profil prod
+    private static final String SECRET_JWT_DEVELOPPEMENT = "changer-ce-secret-de-developpement-0123456789";
+    
+    /**
+     * BCrypt au coût configuré, hachages préfixés par leur identifiant ({bcrypt}...) et exécutés sur le
+     * pool de hachage. Les hachages enregistrés sans préfixe, ou à un coût inférieur, sont recalculés
+     * à la connexion suivante (UtilisateurDetailsService.updatePassword).
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${salaire.securite.bcrypt.cout:10}") int cout,
+                                           @Qualifier("hachageExecutor") Executor hachageExecutor) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(cout);
+        DelegatingPasswordEncoder encodeur = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encodeur.setDefaultPasswordEncoderForMatches(bcrypt);
+        return new EncodeurMotDePasseBorne(encodeur, hachageExecutor);
+    }
+    
+    /**
+     * Limite des hachages simultanés par client, commune aux deux chaînes : enregistrée juste
+     * avant la chaîne de filtres de Spring Security
+     */
+    @Bean
+    public FilterRegistrationBean<LimiteHachageFilter> limiteHachageFilter(
+            @Value("${salaire.securite.hachage.par-client:2}") int hachagesParClient) {
+        FilterRegistrationBean<LimiteHachageFilter> enregistrement =
+            new FilterRegistrationBean<>(new LimiteHachageFilter(hachagesParClient));
+        enregistrement.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return enregistrement;
+    }
+    
+    /**
+     * Clé HMAC-SHA256 des jetons de l'API. Avec le profil prod, le secret (SALAIRE_JWT_SECRET) doit
+     * être fourni et différer de celui de développement : l'application refuse sinon de démarrer.
+     */
+    @Bean
+    public SecretKey cleJwt(@Value("${salaire.securite.jwt.secret}") String secret, Environment environment) {
+        if (environment.acceptsProfiles(Profiles.of("prod"))) {
+            if (secret.isBlank()) {
+                throw new IllegalStateException("SALAIRE_JWT_SECRET doit être défini avec le profil prod");
+            }
+            if (SECRET_JWT_DEVELOPPEMENT.equals(secret)) {
+                throw new IllegalStateException("Le secret JWT de développement est refusé avec le profil prod");
+            }
+        }
+        byte[] octets = secret.getBytes(StandardCharsets.UTF_8);
+        if (octets.length < 32) {
+            throw new IllegalStateException("salaire.securite.jwt.secret doit compter au moins 32 octets (HMAC-SHA256)");
+        }
+        return new SecretKeySpec(octets, "HmacSHA256");
+    }
+    
+    @Bean
+    public JwtEncoder jwtEncoder(SecretKey cleJwt) {
+        return new NimbusJwtEncoder(new ImmutableSecret<>(cleJwt));
+    }
+    
+    /**
+     * Vérification des jetons de l'API : signature, émetteur et dates de validité
+     */
+    @Bean
+    public JwtDecoder jwtDecoder(SecretKey cleJwt) {
+        NimbusJwtDecoder decoder = NimbusJwtDecoder.withSecretKey(cleJwt)
+            .macAlgorithm(MacAlgorithm.HS256)
+            .build();
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(JetonService.EMETTEUR));
+        return decoder;
+    }
+    
+    /**
+     * API REST : aucune session n'est créée ni lue. Chaque requête s'authentifie par un jeton
+     * (Authorization: Bearer, obtenu par POST /api/auth/jeton) ou par HTTP Basic, de sorte que
+     * n'importe quel nœud peut la servir, sans affinité de session ni réplication.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain apiFilterChain(HttpSecurity http) throws Exception {
+        http
+            .securityMatcher("/api/**")
+            .authorizeHttpRequests(authz -> authz
+                .requestMatchers("/api/salaire/calculer", "/api/salaire/calculer-brut").permitAll()
+                .requestMatchers("/api/baremes/recharger", "/api/salaire/cache/**",
+                                "/api/salaire/ecriture-differee/**", "/api/rapports/**").hasRole("ADMIN")
+                .anyRequest().authenticated()
+            )
+            .oauth2ResourceServer(oauth2 -> oauth2
+                .jwt(jwt -> jwt.jwtAuthenticationConverter(conversionJeton()))
+            )
+            .httpBasic(Customizer.withDefaults())
+            // Sans cookie de session, pas de requête intersite à protéger
+            .csrf(AbstractHttpConfigurer::disable)
+            .sessionManagement(session -> session
+                .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+            );
+        
+        return http.build();
+    }
+    
+    /**
+     * Actuator : santé publique, autres points réservés aux administrateurs en HTTP Basic
+     * (collecteurs de métriques sur /actuator/prometheus), sans session
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Order(2)
+    public SecurityFilterChain actuatorFilterChain(HttpSecurity http) throws Exception {
+        http
+            .securityMatcher("/actuator/**")
+            .authorizeHttpRequests(authz -> authz
+                .requestMatchers("/actuator/health").permitAll()
+                .anyRequest().hasRole("ADMIN")
+            )
+            // 401 posé directement : un sendError repasserait par /error, protégé par la chaîne des pages
+            .httpBasic(basic -> basic
+                .authenticationEntryPoint((requete, reponse, exception) -> {
+                    reponse.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Basic realm=\"actuator\"");
+                    reponse.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                })
+            )
+            .csrf(AbstractHttpConfigurer::disable)
+            .sessionManagement(session -> session
+                .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+            );
+        
+        return http.build();
     }
     
     @Bean
@@ -25,10 +179,8 @@ public class SecurityConfig {
         http
             .authorizeHttpRequests(authz -> authz
                 .requestMatchers("/", "/login", "/register", "/user/register", "/about", 
-                                "/css/**", "/js/**", "/images/**", "/favicon.ico",
-                                "/api/salaire/calculer").permitAll()
-                .requestMatchers("/salaire/**", "/api/salaire/sauvegarder", 
-                                "/api/salaire/historique", "/api/salaire/*").authenticated()
+                                "/css/**", "/js/**", "/images/**", "/favicon.ico").permitAll()
+                .requestMatchers("/salaire/**").authenticated()
                 .anyRequest().authenticated()
             )
             .formLogin(form -> form
@@ -44,9 +196,6 @@ public class SecurityConfig {
                 .deleteCookies("JSESSIONID")
                 .permitAll()
             )
-            .csrf(csrf -> csrf
-                .ignoringRequestMatchers("/api/**")
-            )
             .sessionManagement(session -> session
                 .maximumSessions(1)
                 .maxSessionsPreventsLogin(false)
@@ -54,4 +203,16 @@ public class SecurityConfig {
         
         return http.build();
     }
+    
+    /**
+     * Authentification issue d'un jeton : nom (sub) et rôles (claim roles, déjà préfixés ROLE_)
+     */
+    private static JwtAuthenticationConverter conversionJeton() {
+        JwtGrantedAuthoritiesConverter roles = new JwtGrantedAuthoritiesConverter();
+        roles.setAuthoritiesClaimName(JetonService.CLAIM_ROLES);
+        roles.setAuthorityPrefix("");
+        JwtAuthenticationConverter conversion = new JwtAuthenticationConverter();
+        conversion.setJwtGrantedAuthoritiesConverter(roles);
+        return conversion;
+    }
 }
\ No newline at end of file
@@ -1,7 +1,8 @@
 package com.salaire.controller;
 
+import com.salaire.dto.TableauDeBord;
 import com.salaire.entity.User;
-import com.salaire.service.CalculSalaireService;
+import com.salaire.service.StatistiquesUtilisateurService;
 import com.salaire.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
@@ -19,7 +20,7 @@ public class HomeController {
     private UserService userService;
     
     @Autowired
-    private CalculSalaireService calculSalaireService;
+    private StatistiquesUtilisateurService statistiquesService;
     
     /**
      * Page d'accueil
@@ -27,11 +28,11 @@ public class HomeController {
     @GetMapping("/")
     public String accueil(Model model, Authentication authentication) {
         if (authentication != null && authentication.isAuthenticated()) {
-            String username = authentication.getName();
-            userService.trouverParNomUtilisateur(username).ifPresent(user -> {
-                model.addAttribute("user", user);
-                model.addAttribute("nombreCalculs", calculSalaireService.compterCalculsUtilisateur(user));
-                model.addAttribute("derniersCalculs", calculSalaireService.trouverDerniersCalculs(user, 5));
+            userService.trouverIdUtilisateurCourant(authentication).ifPresent(userId -> {
+                TableauDeBord tableauDeBord = statistiquesService.tableauDeBord(userId);
+                model.addAttribute("statistiques", tableauDeBord);
+                model.addAttribute("nombreCalculs", tableauDeBord.getNombreCalculs());
+                model.addAttribute("derniersCalculs", tableauDeBord.getDerniersCalculs());
             });
         }
         
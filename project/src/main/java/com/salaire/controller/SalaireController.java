@@ -1,17 +1,24 @@
 package com.salaire.controller;
 
+import com.salaire.dto.CalculResume;
 import com.salaire.entity.CalculSalaire;
 import com.salaire.entity.User;
 import com.salaire.service.CalculSalaireService;
+import com.salaire.service.EcritureDiffereeService;
+import com.salaire.service.EtagService;
 import com.salaire.service.UserService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.math.BigDecimal;
@@ -27,9 +34,15 @@ public class SalaireController {
     @Autowired
     private CalculSalaireService calculSalaireService;
     
+    @Autowired
+    private EcritureDiffereeService ecritureDiffereeService;
+    
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private EtagService etagService;
+    
     /**
      * Affiche le formulaire de calcul
      */
@@ -67,11 +80,10 @@ public class SalaireController {
         
         // Sauvegarder si demandé et utilisateur connecté
         if (sauvegarder && authentication != null && authentication.isAuthenticated()) {
-            String username = authentication.getName();
-            Optional<User> userOpt = userService.trouverParNomUtilisateur(username);
+            Optional<User> userOpt = userService.trouverUtilisateurCourant(authentication);
             if (userOpt.isPresent()) {
                 calcul.setUser(userOpt.get());
-                calcul = calculSalaireService.sauvegarderCalcul(calcul);
+                calcul = ecritureDiffereeService.sauvegarder(calcul);
                 model.addAttribute("message", "Calcul sauvegardé avec succès !");
             }
         }
@@ -94,15 +106,13 @@ public class SalaireController {
             return "redirect:/login";
         }
         
-        String username = authentication.getName();
-        Optional<User> userOpt = userService.trouverParNomUtilisateur(username);
+        Optional<Long> userIdOpt = userService.trouverIdUtilisateurCourant(authentication);
         
-        if (userOpt.isEmpty()) {
+        if (userIdOpt.isEmpty()) {
             return "redirect:/login";
         }
         
-        User user = userOpt.get();
-        Page<CalculSalaire> calculs = calculSalaireService.trouverCalculsUtilisateur(user, page, size);
+        Page<CalculResume> calculs = calculSalaireService.trouverResumesUtilisateur(userIdOpt.get(), page, size);
         
         model.addAttribute("calculs", calculs);
         model.addAttribute("currentPage", page);
@@ -114,36 +124,56 @@ public class SalaireController {
     }
     
     /**
-     * Affiche le détail d'un calcul
+     * Affiche le détail d'un calcul.
+     * ETag faible : la page contient aussi le menu et le jeton CSRF de la session, il est donc
+     * dérivé de l'ETag du calcul et de la session. Une requête conditionnelle sur un ETag déjà
+     * servi reçoit 304 sans accès à la base.
      */
     @GetMapping("/detail/{id}")
     public String afficherDetailCalcul(@PathVariable Long id,
                                      Model model,
-                                     Authentication authentication) {
+                                     Authentication authentication,
+                                     WebRequest requete,
+                                     HttpServletResponse reponse) {
         
         if (authentication == null || !authentication.isAuthenticated()) {
             return "redirect:/login";
         }
         
-        Optional<CalculSalaire> calculOpt = calculSalaireService.trouverParId(id);
-        if (calculOpt.isEmpty()) {
+        Optional<Long> userIdOpt = userService.trouverIdUtilisateurCourant(authentication);
+        if (userIdOpt.isEmpty()) {
             return "redirect:/salaire/historique";
         }
         
-        CalculSalaire calcul = calculOpt.get();
+        reponse.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        Optional<String> etagConnu = etagService.etagConnu(id, userIdOpt.get());
+        if (etagConnu.isPresent() && requete.checkNotModified(etagPage(etagConnu.get(), requete))) {
+            return null;
+        }
         
-        // Vérifier que le calcul appartient à l'utilisateur connecté
-        String username = authentication.getName();
-        if (!calcul.getUser().getUsername().equals(username)) {
+        // Seuls les calculs de l'utilisateur connecté sont trouvés
+        Optional<CalculSalaire> calculOpt = calculSalaireService.trouverParIdEtUtilisateur(id, userIdOpt.get());
+        if (calculOpt.isEmpty()) {
             return "redirect:/salaire/historique";
         }
         
+        CalculSalaire calcul = calculOpt.get();
+        // ETag inconnu (redémarrage, éviction) : validé après lecture du calcul
+        if (etagConnu.isEmpty() && requete.checkNotModified(etagPage(etagService.memoriser(calcul), requete))) {
+            return null;
+        }
+        
         model.addAttribute("calcul", calcul);
         model.addAttribute("titre", "Détail du calcul");
         
         return "salaire/detail";
     }
     
+    private static String etagPage(String etagCalcul, WebRequest requete) {
+        // La session change à la connexion (et avec elle le jeton CSRF) ; son identifiant n'est pas exposé
+        return "W/\"" + etagCalcul.replace("\"", "") + "-" + Integer.toHexString(requete.getSessionId().hashCode()) + "\"";
+    }
+    
     /**
      * Supprime un calcul
      */
@@ -156,16 +186,10 @@ public class SalaireController {
             return "redirect:/login";
         }
         
-        Optional<CalculSalaire> calculOpt = calculSalaireService.trouverParId(id);
-        if (calculOpt.isPresent()) {
-            CalculSalaire calcul = calculOpt.get();
-            
-            // Vérifier que le calcul appartient à l'utilisateur connecté
-            String username = authentication.getName();
-            if (calcul.getUser().getUsername().equals(username)) {
-                calculSalaireService.supprimerCalcul(id);
-                redirectAttributes.addFlashAttribute("message", "Calcul supprimé avec succès !");
-            }
+        // Seuls les calculs de l'utilisateur connecté sont supprimés
+        Optional<Long> userIdOpt = userService.trouverIdUtilisateurCourant(authentication);
+        if (userIdOpt.isPresent() && calculSalaireService.supprimerCalculUtilisateur(id, userIdOpt.get())) {
+            redirectAttributes.addFlashAttribute("message", "Calcul supprimé avec succès !");
         }
         
         return "redirect:/salaire/historique";
@@ -183,19 +207,15 @@ public class SalaireController {
             return "redirect:/login";
         }
         
-        Optional<CalculSalaire> calculOpt = calculSalaireService.trouverParId(id);
+        // Seuls les calculs de l'utilisateur connecté sont trouvés
+        Optional<CalculSalaire> calculOpt = userService.trouverIdUtilisateurCourant(authentication)
+            .flatMap(userId -> calculSalaireService.trouverParIdEtUtilisateur(id, userId));
         if (calculOpt.isEmpty()) {
             return "redirect:/salaire/historique";
         }
         
         CalculSalaire calculOriginal = calculOpt.get();
         
-        // Vérifier que le calcul appartient à l'utilisateur connecté
-        String username = authentication.getName();
-        if (!calculOriginal.getUser().getUsername().equals(username)) {
-            return "redirect:/salaire/historique";
-        }
-        
         // Créer une copie du calcul
         CalculSalaire nouveauCalcul = new CalculSalaire();
         nouveauCalcul.setSalaireBrut(calculOriginal.getSalaireBrut());
@@ -0,0 +1,46 @@
+package com.salaire.controller.api;
+
+import com.salaire.security.JetonService;
+import com.salaire.security.UtilisateurPrincipal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Contrôleur REST d'émission des jetons d'accès de l'API
+ */
+@RestController
+@RequestMapping("/api/auth")
+public class AuthApiController {
+    
+    @Autowired
+    private JetonService jetonService;
+    
+    /**
+     * Échange des identifiants (HTTP Basic) contre un jeton à présenter ensuite dans
+     * l'en-tête Authorization: Bearer ; le mot de passe n'est ainsi haché qu'une fois par jeton
+     */
+    @PostMapping("/jeton")
+    public ResponseEntity<?> emettreJeton(Authentication authentication) {
+        // Un jeton ne s'obtient qu'avec des identifiants : présenter un jeton ne prolonge pas sa validité
+        if (authentication == null || !authentication.isAuthenticated()
+                || !(authentication.getPrincipal() instanceof UtilisateurPrincipal)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(Map.of("error", "Identifiants requis (HTTP Basic)"));
+        }
+        
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noStore())
+            .body(Map.of(
+                "jeton", jetonService.emettre(authentication),
+                "type", "Bearer",
+                "expireDans", jetonService.getDuree().toSeconds()));
+    }
+}
@@ -0,0 +1,58 @@
+package com.salaire.controller.api;
+
+import com.salaire.bareme.Bareme;
+import com.salaire.service.BaremeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contrôleur REST pour la consultation et le rechargement des barèmes
+ */
+@RestController
+@RequestMapping("/api/baremes")
+public class BaremeApiController {
+    
+    @Autowired
+    private BaremeService baremeService;
+    
+    /**
+     * Liste les barèmes chargés
+     */
+    @GetMapping
+    public ResponseEntity<?> listerBaremes() {
+        List<Map<String, Object>> baremes = baremeService.lister().stream()
+            .map(this::resume)
+            .toList();
+        return ResponseEntity.ok(baremes);
+    }
+    
+    /**
+     * Relit les fichiers de barèmes sans redémarrage (administrateurs)
+     */
+    @PostMapping("/recharger")
+    public ResponseEntity<?> rechargerBaremes() {
+        try {
+            int nombre = baremeService.recharger();
+            return ResponseEntity.ok(Map.of("message", nombre + " barème(s) chargé(s)"));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Erreur lors du rechargement : " + e.getMessage()));
+        }
+    }
+    
+    private Map<String, Object> resume(Bareme bareme) {
+        Map<String, Object> resume = new LinkedHashMap<>();
+        resume.put("version", bareme.getVersion());
+        resume.put("annee", bareme.getAnnee());
+        resume.put("dateEffet", bareme.getDateEffet());
+        return resume;
+    }
+}
@@ -0,0 +1,52 @@
+package com.salaire.controller.api;
+
+import com.salaire.dto.AgregatPeriode;
+import com.salaire.service.RapportCalculsService;
+import com.salaire.service.RapportCalculsService.Granularite;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Contrôleur REST des rapports agrégés sur les calculs (administrateurs)
+ */
+@RestController
+@RequestMapping("/api/rapports")
+public class RapportApiController {
+    
+    @Autowired
+    private RapportCalculsService rapportCalculsService;
+    
+    /**
+     * Sommes et moyennes du brut, des cotisations, de l'impôt et du net par période
+     * (jour, semaine ou mois) et, par défaut, par situation familiale
+     */
+    @GetMapping("/calculs")
+    public ResponseEntity<?> agregerCalculs(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate debut,
+                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fin,
+                                            @RequestParam(defaultValue = "mois") String granularite,
+                                            @RequestParam(defaultValue = "true") boolean parStatut) {
+        Granularite decoupage;
+        try {
+            decoupage = Granularite.valueOf(granularite.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Granularité inconnue : " + granularite));
+        }
+        
+        try {
+            List<AgregatPeriode> agregats = rapportCalculsService.agreger(debut, fin, decoupage, parStatut);
+            return ResponseEntity.ok(agregats);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
@@ -1,16 +1,43 @@
 package com.salaire.controller.api;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.salaire.dto.CalculCompact;
+import com.salaire.dto.DemandeSimulation;
+import com.salaire.dto.PageCurseur;
+import com.salaire.dto.ResultatLigneLot;
 import com.salaire.entity.CalculSalaire;
 import com.salaire.entity.User;
+import com.salaire.service.CacheCalculService;
 import com.salaire.service.CalculSalaireService;
+import com.salaire.service.EcritureDiffereeService;
+import com.salaire.service.EtagService;
+import com.salaire.service.ExportHistoriqueService;
+import com.salaire.service.SimulationService;
 import com.salaire.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,12 +51,39 @@ import java.util.Optional;
 @CrossOrigin(origins = "*", maxAge = 3600)
 public class SalaireApiController {
     
+    private static final int TAILLE_PAGE_DEFAUT = 20;
+    private static final int TAILLE_PAGE_MAX = 100;
+    
+    // Réponses propres à l'utilisateur, revalidées à chaque usage (ETag)
+    private static final CacheControl CACHE_REVALIDATION = CacheControl.noCache().cachePrivate();
+    
     @Autowired
     private CalculSalaireService calculSalaireService;
     
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private CacheCalculService cacheCalculService;
+    
+    @Autowired
+    private ExportHistoriqueService exportHistoriqueService;
+    
+    @Autowired
+    private EcritureDiffereeService ecritureDiffereeService;
+    
+    @Autowired
+    private SimulationService simulationService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private EtagService etagService;
+    
+    @Value("${salaire.lot.taille-max:100000}")
+    private int tailleMaxLot;
+    
     /**
      * Calcule le salaire net (sans sauvegarde)
      */
@@ -37,11 +91,7 @@ public class SalaireApiController {
     public ResponseEntity<?> calculerSalaire(@RequestBody CalculSalaire calcul) {
         try {
             // Initialiser les valeurs nulles
-            if (calcul.getPrimes() == null) calcul.setPrimes(BigDecimal.ZERO);
-            if (calcul.getIndemnites() == null) calcul.setIndemnites(BigDecimal.ZERO);
-            if (calcul.getAvantagesNature() == null) calcul.setAvantagesNature(BigDecimal.ZERO);
-            if (calcul.getHeuresSupplementaires() == null) calcul.setHeuresSupplementaires(BigDecimal.ZERO);
-            if (calcul.getNombreParts() == null) calcul.setNombreParts(BigDecimal.valueOf(1.0));
+            initialiserValeursNulles(calcul);
             
             // Effectuer le calcul
             CalculSalaire resultat = calculSalaireService.effectuerCalcul(calcul);
@@ -55,8 +105,161 @@ public class SalaireApiController {
         }
     }
     
+    /**
+     * Calcule le salaire brut de base nécessaire pour obtenir le net à payer indiqué
+     * dans salaireNetPayer (sans sauvegarde)
+     */
+    @PostMapping("/calculer-brut")
+    public ResponseEntity<?> calculerSalaireBrut(@RequestBody CalculSalaire calcul) {
+        try {
+            initialiserValeursNulles(calcul);
+            if (calcul.getSalaireBrut() == null) {
+                calcul.setSalaireBrut(BigDecimal.ZERO);
+            }
+            
+            return ResponseEntity.ok(calculSalaireService.calculerSalaireBrut(calcul));
+            
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Erreur lors du calcul : " + e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    /**
+     * Calcule le salaire net d'une liste de salariés (sans sauvegarde)
+     *
+     * Le tableau est lu élément par élément : une ligne qui ne peut pas être lue est signalée en
+     * erreur dans le résultat sans rejeter le lot, et la taille maximale est vérifiée au fil de la lecture.
+     */
+    @PostMapping(value = "/calculer-lot", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> calculerLot(InputStream corps) throws IOException {
+        List<CalculSalaire> calculs = new ArrayList<>();
+        try (JsonParser lecteur = objectMapper.createParser(corps)) {
+            if (lecteur.nextToken() != JsonToken.START_ARRAY) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Le lot doit être un tableau JSON"));
+            }
+            JsonStreamContext tableau = lecteur.getParsingContext();
+            // Une fin de contenu avant celle du tableau lève StreamReadException
+            while (lecteur.nextToken() != JsonToken.END_ARRAY) {
+                if (calculs.size() >= tailleMaxLot) {
+                    return lotTropVolumineux();
+                }
+                try {
+                    calculs.add(objectMapper.readValue(lecteur, CalculSalaire.class));
+                } catch (DatabindException e) {
+                    // La ligne sera signalée en erreur dans le résultat ; lecture reprise à l'élément suivant
+                    calculs.add(null);
+                    ignorerFinElement(lecteur, tableau);
+                }
+            }
+        } catch (StreamReadException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "JSON mal formé : " + e.getOriginalMessage()));
+        }
+        return traiterLot(calculs);
+    }
+    
+    /**
+     * Avance le lecteur jusqu'à la fin de l'élément en cours du tableau
+     */
+    private static void ignorerFinElement(JsonParser lecteur, JsonStreamContext tableau) throws IOException {
+        while (lecteur.getParsingContext() != tableau) {
+            JsonToken jeton = lecteur.nextToken();
+            if (jeton == null) {
+                return;
+            }
+            if (jeton.isStructStart()) {
+                lecteur.skipChildren();
+            }
+        }
+    }
+    
+    /**
+     * Calcule le salaire net d'un flux NDJSON (un calcul par ligne, sans sauvegarde)
+     */
+    @PostMapping(value = "/calculer-lot", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<?> calculerLotNdjson(InputStream corps) throws IOException {
+        List<CalculSalaire> calculs = new ArrayList<>();
+        try (BufferedReader lecteur = new BufferedReader(new InputStreamReader(corps, StandardCharsets.UTF_8))) {
+            String ligne;
+            while ((ligne = lecteur.readLine()) != null) {
+                if (ligne.isBlank()) {
+                    continue;
+                }
+                if (calculs.size() >= tailleMaxLot) {
+                    return lotTropVolumineux();
+                }
+                try {
+                    calculs.add(objectMapper.readValue(ligne, CalculSalaire.class));
+                } catch (IOException e) {
+                    // La ligne sera signalée en erreur dans le résultat
+                    calculs.add(null);
+                }
+            }
+        }
+        return traiterLot(calculs);
+    }
+    
+    private ResponseEntity<?> traiterLot(List<CalculSalaire> calculs) {
+        if (calculs == null || calculs.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Le lot de calculs est vide"));
+        }
+        if (calculs.size() > tailleMaxLot) {
+            return lotTropVolumineux();
+        }
+        
+        for (CalculSalaire calcul : calculs) {
+            if (calcul != null) {
+                initialiserValeursNulles(calcul);
+            }
+        }
+        
+        List<ResultatLigneLot> resultats = calculSalaireService.effectuerCalculsEnLot(calculs);
+        return ResponseEntity.ok(resultats);
+    }
+    
+    private ResponseEntity<?> lotTropVolumineux() {
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+            .body(Map.of("error", "Le lot ne peut pas dépasser " + tailleMaxLot + " calculs"));
+    }
+    
+    /**
+     * Simule le salaire net sur une plage de salaires bruts, pour chaque situation familiale
+     * et nombre de parts demandés ; les points (avec taux effectif et marginal) sont renvoyés en NDJSON
+     */
+    @PostMapping("/simulation")
+    public ResponseEntity<StreamingResponseBody> simuler(@RequestBody DemandeSimulation demande) {
+        try {
+            simulationService.verifier(demande);
+        } catch (IllegalArgumentException e) {
+            return erreurEnFlux(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        
+        StreamingResponseBody corps = sortie -> simulationService.simuler(demande, sortie);
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE + ";charset=UTF-8")
+            .body(corps);
+    }
+    
+    /**
+     * Statistiques du cache de calcul (administrateurs)
+     */
+    @GetMapping("/cache/statistiques")
+    public ResponseEntity<?> obtenirStatistiquesCache() {
+        return ResponseEntity.ok(cacheCalculService.statistiques());
+    }
+    
+    /**
+     * Profondeur de la file et compteurs de l'écriture différée (administrateurs)
+     */
+    @GetMapping("/ecriture-differee/statistiques")
+    public ResponseEntity<?> obtenirStatistiquesEcritureDifferee() {
+        return ResponseEntity.ok(ecritureDiffereeService.statistiques());
+    }
+    
     /**
      * Sauvegarde un calcul pour l'utilisateur connecté
+     * (en écriture différée, le calcul renvoyé n'a pas encore d'identifiant)
      */
     @PostMapping("/sauvegarder")
     public ResponseEntity<?> sauvegarderCalcul(@RequestBody CalculSalaire calcul,
@@ -68,8 +271,7 @@ public class SalaireApiController {
         }
         
         try {
-            String username = authentication.getName();
-            Optional<User> userOpt = userService.trouverParNomUtilisateur(username);
+            Optional<User> userOpt = userService.trouverUtilisateurCourant(authentication);
             
             if (userOpt.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -79,13 +281,9 @@ public class SalaireApiController {
             calcul.setUser(userOpt.get());
             
             // Initialiser les valeurs nulles
-            if (calcul.getPrimes() == null) calcul.setPrimes(BigDecimal.ZERO);
-            if (calcul.getIndemnites() == null) calcul.setIndemnites(BigDecimal.ZERO);
-            if (calcul.getAvantagesNature() == null) calcul.setAvantagesNature(BigDecimal.ZERO);
-            if (calcul.getHeuresSupplementaires() == null) calcul.setHeuresSupplementaires(BigDecimal.ZERO);
-            if (calcul.getNombreParts() == null) calcul.setNombreParts(BigDecimal.valueOf(1.0));
+            initialiserValeursNulles(calcul);
             
-            CalculSalaire resultat = calculSalaireService.sauvegarderCalcul(calcul);
+            CalculSalaire resultat = ecritureDiffereeService.sauvegarder(calcul);
             
             return ResponseEntity.ok(resultat);
             
@@ -97,10 +295,74 @@ public class SalaireApiController {
     }
     
     /**
-     * Récupère l'historique des calculs de l'utilisateur connecté
+     * Sauvegarde une liste de calculs pour l'utilisateur connecté (import en masse)
+     */
+    @PostMapping("/sauvegarder-lot")
+    public ResponseEntity<?> sauvegarderLot(@RequestBody List<CalculSalaire> calculs,
+                                            Authentication authentication) {
+        
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(Map.of("error", "Authentification requise"));
+        }
+        
+        if (calculs == null || calculs.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Le lot de calculs est vide"));
+        }
+        if (calculs.size() > tailleMaxLot) {
+            return lotTropVolumineux();
+        }
+        
+        try {
+            Optional<User> userOpt = userService.trouverUtilisateurCourant(authentication);
+            
+            if (userOpt.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "Utilisateur non trouvé"));
+            }
+            
+            for (int i = 0; i < calculs.size(); i++) {
+                CalculSalaire calcul = calculs.get(i);
+                if (calcul == null || calcul.getSalaireBrut() == null
+                        || calcul.getSalaireBrut().compareTo(BigDecimal.ZERO) <= 0) {
+                    return ResponseEntity.badRequest()
+                        .body(Map.of("error", "Ligne " + i + " : le salaire brut doit être positif"));
+                }
+                initialiserValeursNulles(calcul);
+            }
+            
+            List<CalculSalaire> resultats = calculSalaireService.sauvegarderCalculs(calculs, userOpt.get());
+            
+            List<Long> ids = new ArrayList<>(resultats.size());
+            for (CalculSalaire resultat : resultats) {
+                ids.add(resultat.getId());
+            }
+            return ResponseEntity.ok(Map.of("nombre", ids.size(), "ids", ids));
+            
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Erreur lors de la sauvegarde : " + e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    /**
+     * Récupère l'historique des calculs de l'utilisateur connecté.
+     * Avec les paramètres taille et/ou curseur, renvoie une page par curseur (sans comptage,
+     * sauf total=true) ; sinon renvoie l'historique complet.
+     * Avec compact=true (ou centimes=true, montants en centimes), les calculs sont renvoyés
+     * sous la forme abrégée de {@link CalculCompact}.
+     * ETag faible dérivé de la dernière modification des calculs de l'utilisateur : une requête
+     * conditionnelle sans changement reçoit 304 avant toute lecture de l'historique.
      */
     @GetMapping("/historique")
-    public ResponseEntity<?> obtenirHistorique(Authentication authentication) {
+    public ResponseEntity<?> obtenirHistorique(Authentication authentication,
+                                              @RequestParam(required = false) String curseur,
+                                              @RequestParam(required = false) Integer taille,
+                                              @RequestParam(defaultValue = "false") boolean total,
+                                              @RequestParam(defaultValue = "false") boolean compact,
+                                              @RequestParam(defaultValue = "false") boolean centimes,
+                                              WebRequest requete) {
         
         if (authentication == null || !authentication.isAuthenticated()) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -108,17 +370,34 @@ public class SalaireApiController {
         }
         
         try {
-            String username = authentication.getName();
-            Optional<User> userOpt = userService.trouverParNomUtilisateur(username);
+            // Lue avant l'historique : une modification concurrente rend l'ETag plus ancien que les données, jamais l'inverse
+            Optional<String> etag = userService.trouverIdUtilisateurCourant(authentication)
+                .flatMap(etagService::etagHistorique);
+            if (etag.isPresent() && requete.checkNotModified(etag.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag.get())
+                    .cacheControl(CACHE_REVALIDATION)
+                    .build();
+            }
+            
+            Optional<User> userOpt = userService.trouverUtilisateurCourant(authentication);
             
             if (userOpt.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("error", "Utilisateur non trouvé"));
             }
             
+            if (curseur != null || taille != null) {
+                int taillePage = Math.min(Math.max(taille != null ? taille : TAILLE_PAGE_DEFAUT, 1), TAILLE_PAGE_MAX);
+                PageCurseur<CalculSalaire> page =
+                    calculSalaireService.trouverCalculsUtilisateur(userOpt.get(), curseur, taillePage, total);
+                return reponseHistorique(etag, new PageCurseur<>(
+                    representer(page.getElements(), compact, centimes), page.getCurseurSuivant(), page.getTotal()));
+            }
+            
             List<CalculSalaire> calculs = calculSalaireService.trouverCalculsUtilisateur(userOpt.get());
             
-            return ResponseEntity.ok(calculs);
+            return reponseHistorique(etag, representer(calculs, compact, centimes));
             
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
@@ -128,11 +407,78 @@ public class SalaireApiController {
     }
     
     /**
-     * Récupère un calcul spécifique
+     * Calculs tels quels, ou sous forme compacte si compact ou centimes est demandé
+     */
+    private static List<?> representer(List<CalculSalaire> calculs, boolean compact, boolean centimes) {
+        if (!compact && !centimes) {
+            return calculs;
+        }
+        return calculs.stream()
+            .map(calcul -> CalculCompact.de(calcul, centimes))
+            .toList();
+    }
+    
+    private ResponseEntity<?> reponseHistorique(Optional<String> etag, Object historique) {
+        ResponseEntity.BodyBuilder reponse = ResponseEntity.ok().cacheControl(CACHE_REVALIDATION);
+        etag.ifPresent(reponse::eTag);
+        return reponse.body(historique);
+    }
+    
+    /**
+     * Exporte l'historique complet de l'utilisateur connecté en CSV ou NDJSON,
+     * écrit au fil de la lecture en base
+     */
+    @GetMapping("/historique/export")
+    public ResponseEntity<StreamingResponseBody> exporterHistorique(Authentication authentication,
+                                                                   @RequestParam(defaultValue = "csv") String format) {
+        
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return erreurEnFlux(HttpStatus.UNAUTHORIZED, "Authentification requise");
+        }
+        
+        ExportHistoriqueService.Format formatExport;
+        try {
+            formatExport = ExportHistoriqueService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return erreurEnFlux(HttpStatus.BAD_REQUEST, "Format d'export inconnu : " + format);
+        }
+        
+        Optional<Long> userIdOpt = userService.trouverIdUtilisateurCourant(authentication);
+        if (userIdOpt.isEmpty()) {
+            return erreurEnFlux(HttpStatus.UNAUTHORIZED, "Utilisateur non trouvé");
+        }
+        
+        Long userId = userIdOpt.get();
+        StreamingResponseBody corps = sortie -> exportHistoriqueService.exporter(userId, formatExport, sortie);
+        
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_TYPE, formatExport.getTypeContenu() + ";charset=UTF-8")
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"historique-calculs." + formatExport.getExtension() + "\"")
+            .body(corps);
+    }
+    
+    /**
+     * Réponse d'erreur JSON d'un point d'accès en flux : le gestionnaire des StreamingResponseBody
+     * ne prend en charge que les ResponseEntity dont le corps est déclaré comme tel
+     */
+    private ResponseEntity<StreamingResponseBody> erreurEnFlux(HttpStatus statut, String message) {
+        return ResponseEntity.status(statut)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(sortie -> objectMapper.writeValue(sortie, Map.of("error", message)));
+    }
+    
+    /**
+     * Récupère un calcul spécifique.
+     * Un calcul sauvegardé ne change plus : ETag fort, et une requête conditionnelle sur un ETag
+     * déjà servi reçoit 304 sans accès à la base. Paramètres compact et centimes : voir l'historique.
      */
     @GetMapping("/{id}")
     public ResponseEntity<?> obtenirCalcul(@PathVariable Long id,
-                                          Authentication authentication) {
+                                          Authentication authentication,
+                                          @RequestParam(defaultValue = "false") boolean compact,
+                                          @RequestParam(defaultValue = "false") boolean centimes,
+                                          WebRequest requete) {
         
         if (authentication == null || !authentication.isAuthenticated()) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -140,22 +486,33 @@ public class SalaireApiController {
         }
         
         try {
-            Optional<CalculSalaire> calculOpt = calculSalaireService.trouverParId(id);
+            Optional<Long> userIdOpt = userService.trouverIdUtilisateurCourant(authentication);
             
-            if (calculOpt.isEmpty()) {
-                return ResponseEntity.notFound().build();
+            if (userIdOpt.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "Utilisateur non trouvé"));
+            }
+            
+            Optional<String> etagConnu = etagService.etagConnu(id, userIdOpt.get());
+            if (etagConnu.isPresent() && requete.checkNotModified(etagConnu.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etagConnu.get())
+                    .cacheControl(CACHE_REVALIDATION)
+                    .build();
             }
             
-            CalculSalaire calcul = calculOpt.get();
-            String username = authentication.getName();
+            // Un calcul d'un autre utilisateur est traité comme inexistant
+            Optional<CalculSalaire> calculOpt = calculSalaireService.trouverParIdEtUtilisateur(id, userIdOpt.get());
             
-            // Vérifier que le calcul appartient à l'utilisateur
-            if (!calcul.getUser().getUsername().equals(username)) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                    .body(Map.of("error", "Accès non autorisé"));
+            if (calculOpt.isEmpty()) {
+                return ResponseEntity.notFound().build();
             }
             
-            return ResponseEntity.ok(calcul);
+            // Sur un ETag inconnu (redémarrage, éviction), le 304 est décidé par Spring au vu de l'ETag de la réponse
+            return ResponseEntity.ok()
+                .eTag(etagService.memoriser(calculOpt.get()))
+                .cacheControl(CACHE_REVALIDATION)
+                .body(compact || centimes ? CalculCompact.de(calculOpt.get(), centimes) : calculOpt.get());
             
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
@@ -177,23 +534,18 @@ public class SalaireApiController {
         }
         
         try {
-            Optional<CalculSalaire> calculOpt = calculSalaireService.trouverParId(id);
+            Optional<Long> userIdOpt = userService.trouverIdUtilisateurCourant(authentication);
             
-            if (calculOpt.isEmpty()) {
-                return ResponseEntity.notFound().build();
+            if (userIdOpt.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "Utilisateur non trouvé"));
             }
             
-            CalculSalaire calcul = calculOpt.get();
-            String username = authentication.getName();
-            
-            // Vérifier que le calcul appartient à l'utilisateur
-            if (!calcul.getUser().getUsername().equals(username)) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                    .body(Map.of("error", "Accès non autorisé"));
+            // Un calcul d'un autre utilisateur est traité comme inexistant
+            if (!calculSalaireService.supprimerCalculUtilisateur(id, userIdOpt.get())) {
+                return ResponseEntity.notFound().build();
             }
             
-            calculSalaireService.supprimerCalcul(id);
-            
             return ResponseEntity.ok(Map.of("message", "Calcul supprimé avec succès"));
             
         } catch (Exception e) {
@@ -202,4 +554,15 @@ public class SalaireApiController {
             return ResponseEntity.badRequest().body(error);
         }
     }
+    
+    /**
+     * Initialise à zéro les montants optionnels non renseignés
+     */
+    private void initialiserValeursNulles(CalculSalaire calcul) {
+        if (calcul.getPrimes() == null) calcul.setPrimes(BigDecimal.ZERO);
+        if (calcul.getIndemnites() == null) calcul.setIndemnites(BigDecimal.ZERO);
+        if (calcul.getAvantagesNature() == null) calcul.setAvantagesNature(BigDecimal.ZERO);
+        if (calcul.getHeuresSupplementaires() == null) calcul.setHeuresSupplementaires(BigDecimal.ZERO);
+        if (calcul.getNombreParts() == null) calcul.setNombreParts(BigDecimal.valueOf(1.0));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.salaire.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Agrégat (nombre, sommes, extrema du net) d'un ensemble de calculs, calculé en base
+ */
+public class AgregatCalculs {
+    
+    private final long nombre;
+    private final BigDecimal sommeBrut;
+    private final BigDecimal sommeNet;
+    private final BigDecimal minNet;
+    private final BigDecimal maxNet;
+    
+    public AgregatCalculs(Long nombre, BigDecimal sommeBrut, BigDecimal sommeNet,
+                          BigDecimal minNet, BigDecimal maxNet) {
+        this.nombre = nombre != null ? nombre : 0;
+        this.sommeBrut = sommeBrut != null ? sommeBrut : BigDecimal.ZERO;
+        this.sommeNet = sommeNet != null ? sommeNet : BigDecimal.ZERO;
+        this.minNet = minNet;
+        this.maxNet = maxNet;
+    }
+    
+    public long getNombre() { return nombre; }
+    
+    public BigDecimal getSommeBrut() { return sommeBrut; }
+    
+    public BigDecimal getSommeNet() { return sommeNet; }
+    
+    public BigDecimal getMinNet() { return minNet; }
+    
+    public BigDecimal getMaxNet() { return maxNet; }
+}
@@ -0,0 +1,64 @@
+package com.salaire.dto;
+
+import com.salaire.entity.CalculSalaire.StatutMarital;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * Sommes et moyennes des calculs d'une période (jour, semaine ou mois),
+ * pour une situation familiale ou toutes confondues (statutMarital null)
+ */
+public class AgregatPeriode {
+    
+    private final LocalDate debutPeriode;
+    private final StatutMarital statutMarital;
+    private long nombre;
+    private BigDecimal sommeBrut = BigDecimal.ZERO;
+    private BigDecimal sommeCotisations = BigDecimal.ZERO;
+    private BigDecimal sommeImpot = BigDecimal.ZERO;
+    private BigDecimal sommeNet = BigDecimal.ZERO;
+    
+    public AgregatPeriode(LocalDate debutPeriode, StatutMarital statutMarital) {
+        this.debutPeriode = debutPeriode;
+        this.statutMarital = statutMarital;
+    }
+    
+    /**
+     * Cumule une ligne d'agrégat (sommes et nombres se combinent exactement)
+     */
+    public void ajouter(LigneAgregatJour ligne) {
+        nombre += ligne.getNombre();
+        sommeBrut = sommeBrut.add(ligne.getSommeBrut());
+        sommeCotisations = sommeCotisations.add(ligne.getSommeCotisations());
+        sommeImpot = sommeImpot.add(ligne.getSommeImpot());
+        sommeNet = sommeNet.add(ligne.getSommeNet());
+    }
+    
+    public LocalDate getDebutPeriode() { return debutPeriode; }
+    
+    public StatutMarital getStatutMarital() { return statutMarital; }
+    
+    public long getNombre() { return nombre; }
+    
+    public BigDecimal getSommeBrut() { return sommeBrut; }
+    
+    public BigDecimal getSommeCotisations() { return sommeCotisations; }
+    
+    public BigDecimal getSommeImpot() { return sommeImpot; }
+    
+    public BigDecimal getSommeNet() { return sommeNet; }
+    
+    public BigDecimal getMoyenneBrut() { return moyenne(sommeBrut); }
+    
+    public BigDecimal getMoyenneCotisations() { return moyenne(sommeCotisations); }
+    
+    public BigDecimal getMoyenneImpot() { return moyenne(sommeImpot); }
+    
+    public BigDecimal getMoyenneNet() { return moyenne(sommeNet); }
+    
+    private BigDecimal moyenne(BigDecimal somme) {
+        return nombre > 0 ? somme.divide(BigDecimal.valueOf(nombre), 2, RoundingMode.HALF_UP) : null;
+    }
+}
@@ -0,0 +1,86 @@
+package com.salaire.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.salaire.entity.CalculSalaire;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * Représentation JSON compacte d'un calcul pour l'API (historique, détail)
+ *
+ * Les clés sont abrégées (voir les composants) et les éléments de rémunération nuls ou à zéro
+ * (primes, indemnités, avantages en nature, heures supplémentaires) ainsi que la description
+ * absente sont omis. Les montants sont en euros (décimaux) ou, au choix, en centimes entiers ;
+ * le taux de prélèvement et le nombre de parts restent décimaux. Le brut total n'est pas
+ * transmis : c'est la somme du brut et des éléments de rémunération.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CalculCompact(
+    @JsonProperty("id") Long id,
+    @JsonProperty("dt") LocalDateTime createdAt,
+    @JsonProperty("sb") Number salaireBrut,
+    @JsonProperty("pr") Number primes,
+    @JsonProperty("in") Number indemnites,
+    @JsonProperty("an") Number avantagesNature,
+    @JsonProperty("hs") Number heuresSupplementaires,
+    @JsonProperty("cs") Number cotisationsSecu,
+    @JsonProperty("cc") Number cotisationsChomage,
+    @JsonProperty("cr") Number cotisationsRetraite,
+    @JsonProperty("cg") Number cotisationsCsgCrds,
+    @JsonProperty("tc") Number totalCotisations,
+    @JsonProperty("ir") Number impotRevenu,
+    @JsonProperty("ni") Number salaireNetImposable,
+    @JsonProperty("np") Number salaireNetPayer,
+    @JsonProperty("tp") BigDecimal tauxPrelevement,
+    @JsonProperty("sm") CalculSalaire.StatutMarital statutMarital,
+    @JsonProperty("pa") BigDecimal nombreParts,
+    @JsonProperty("vb") String versionBareme,
+    @JsonProperty("de") String description) {
+    
+    /**
+     * Représentation d'un calcul, montants en euros ou en centimes
+     */
+    public static CalculCompact de(CalculSalaire calcul, boolean enCentimes) {
+        Function<BigDecimal, Number> montant = enCentimes ? CalculCompact::centimes : m -> m;
+        return new CalculCompact(
+            calcul.getId(),
+            calcul.getCreatedAt(),
+            montant.apply(calcul.getSalaireBrut()),
+            montant.apply(sansZero(calcul.getPrimes())),
+            montant.apply(sansZero(calcul.getIndemnites())),
+            montant.apply(sansZero(calcul.getAvantagesNature())),
+            montant.apply(sansZero(calcul.getHeuresSupplementaires())),
+            montant.apply(calcul.getCotisationsSecu()),
+            montant.apply(calcul.getCotisationsChomage()),
+            montant.apply(calcul.getCotisationsRetraite()),
+            montant.apply(calcul.getCotisationsCsgCrds()),
+            montant.apply(calcul.getTotalCotisations()),
+            montant.apply(calcul.getImpotRevenu()),
+            montant.apply(calcul.getSalaireNetImposable()),
+            montant.apply(calcul.getSalaireNetPayer()),
+            calcul.getTauxPrelevement(),
+            calcul.getStatutMarital(),
+            calcul.getNombreParts(),
+            calcul.getVersionBareme(),
+            calcul.getDescription() == null || calcul.getDescription().isBlank() ? null : calcul.getDescription());
+    }
+    
+    private static BigDecimal sansZero(BigDecimal montant) {
+        return montant == null || montant.signum() == 0 ? null : montant;
+    }
+    
+    /**
+     * Montant en centimes, arrondi au centime le plus proche (les montants stockés ont 2 décimales)
+     */
+    private static Long centimes(BigDecimal montant) {
+        if (montant == null) {
+            return null;
+        }
+        BigDecimal enCentimes = montant.movePointRight(2);
+        return (enCentimes.scale() <= 0 ? enCentimes : enCentimes.setScale(0, RoundingMode.HALF_UP)).longValueExact();
+    }
+}
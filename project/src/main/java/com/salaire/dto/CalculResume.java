@@ -0,0 +1,36 @@
+package com.salaire.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Résumé d'un calcul pour les listes (tableau de bord, historique) :
+ * seules les colonnes affichées sont lues, sans entité gérée
+ */
+public class CalculResume {
+    
+    private final Long id;
+    private final LocalDateTime createdAt;
+    private final BigDecimal salaireBrut;
+    private final BigDecimal salaireNetPayer;
+    private final String description;
+    
+    public CalculResume(Long id, LocalDateTime createdAt, BigDecimal salaireBrut,
+                        BigDecimal salaireNetPayer, String description) {
+        this.id = id;
+        this.createdAt = createdAt;
+        this.salaireBrut = salaireBrut;
+        this.salaireNetPayer = salaireNetPayer;
+        this.description = description;
+    }
+    
+    public Long getId() { return id; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    
+    public BigDecimal getSalaireBrut() { return salaireBrut; }
+    
+    public BigDecimal getSalaireNetPayer() { return salaireNetPayer; }
+    
+    public String getDescription() { return description; }
+}
@@ -0,0 +1,60 @@
+package com.salaire.dto;
+
+import com.salaire.entity.CalculSalaire.StatutMarital;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Grille d'une simulation : plage de salaires bruts parcourue par pas constant,
+ * pour chaque situation familiale et chaque nombre de parts demandés
+ */
+public class DemandeSimulation {
+    
+    private BigDecimal brutMin;
+    private BigDecimal brutMax;
+    private BigDecimal pas;
+    private List<StatutMarital> statutsMaritaux = new ArrayList<>();
+    private List<BigDecimal> nombresParts = new ArrayList<>();
+    
+    // Éléments de rémunération communs à tous les points
+    private BigDecimal primes = BigDecimal.ZERO;
+    private BigDecimal indemnites = BigDecimal.ZERO;
+    private BigDecimal avantagesNature = BigDecimal.ZERO;
+    private BigDecimal heuresSupplementaires = BigDecimal.ZERO;
+    
+    // Date d'application du barème (aujourd'hui si absente)
+    private LocalDate date;
+    
+    public BigDecimal getBrutMin() { return brutMin; }
+    public void setBrutMin(BigDecimal brutMin) { this.brutMin = brutMin; }
+    
+    public BigDecimal getBrutMax() { return brutMax; }
+    public void setBrutMax(BigDecimal brutMax) { this.brutMax = brutMax; }
+    
+    public BigDecimal getPas() { return pas; }
+    public void setPas(BigDecimal pas) { this.pas = pas; }
+    
+    public List<StatutMarital> getStatutsMaritaux() { return statutsMaritaux; }
+    public void setStatutsMaritaux(List<StatutMarital> statutsMaritaux) { this.statutsMaritaux = statutsMaritaux; }
+    
+    public List<BigDecimal> getNombresParts() { return nombresParts; }
+    public void setNombresParts(List<BigDecimal> nombresParts) { this.nombresParts = nombresParts; }
+    
+    public BigDecimal getPrimes() { return primes; }
+    public void setPrimes(BigDecimal primes) { this.primes = primes; }
+    
+    public BigDecimal getIndemnites() { return indemnites; }
+    public void setIndemnites(BigDecimal indemnites) { this.indemnites = indemnites; }
+    
+    public BigDecimal getAvantagesNature() { return avantagesNature; }
+    public void setAvantagesNature(BigDecimal avantagesNature) { this.avantagesNature = avantagesNature; }
+    
+    public BigDecimal getHeuresSupplementaires() { return heuresSupplementaires; }
+    public void setHeuresSupplementaires(BigDecimal heuresSupplementaires) { this.heuresSupplementaires = heuresSupplementaires; }
+    
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+}
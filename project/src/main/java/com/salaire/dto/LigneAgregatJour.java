@@ -0,0 +1,45 @@
+package com.salaire.dto;
+
+import com.salaire.entity.CalculSalaire.StatutMarital;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Ligne d'agrégat calculée en base (GROUP BY) pour un jour ou un mois et une situation familiale
+ */
+public class LigneAgregatJour {
+    
+    private final LocalDate date;
+    private final StatutMarital statutMarital;
+    private final long nombre;
+    private final BigDecimal sommeBrut;
+    private final BigDecimal sommeCotisations;
+    private final BigDecimal sommeImpot;
+    private final BigDecimal sommeNet;
+    
+    public LigneAgregatJour(Integer annee, Integer mois, Integer jour, StatutMarital statutMarital, Long nombre,
+                            BigDecimal sommeBrut, BigDecimal sommeCotisations, BigDecimal sommeImpot, BigDecimal sommeNet) {
+        this.date = LocalDate.of(annee, mois, jour);
+        this.statutMarital = statutMarital;
+        this.nombre = nombre != null ? nombre : 0;
+        this.sommeBrut = sommeBrut != null ? sommeBrut : BigDecimal.ZERO;
+        this.sommeCotisations = sommeCotisations != null ? sommeCotisations : BigDecimal.ZERO;
+        this.sommeImpot = sommeImpot != null ? sommeImpot : BigDecimal.ZERO;
+        this.sommeNet = sommeNet != null ? sommeNet : BigDecimal.ZERO;
+    }
+    
+    public LocalDate getDate() { return date; }
+    
+    public StatutMarital getStatutMarital() { return statutMarital; }
+    
+    public long getNombre() { return nombre; }
+    
+    public BigDecimal getSommeBrut() { return sommeBrut; }
+    
+    public BigDecimal getSommeCotisations() { return sommeCotisations; }
+    
+    public BigDecimal getSommeImpot() { return sommeImpot; }
+    
+    public BigDecimal getSommeNet() { return sommeNet; }
+}
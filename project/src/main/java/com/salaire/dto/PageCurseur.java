@@ -0,0 +1,31 @@
+package com.salaire.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Page de résultats obtenue par curseur (pagination par clé)
+ *
+ * Le curseur suivant est null sur la dernière page ; le total n'est renseigné
+ * que s'il a été explicitement demandé.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PageCurseur<T> {
+    
+    private final List<T> elements;
+    private final String curseurSuivant;
+    private final Long total;
+    
+    public PageCurseur(List<T> elements, String curseurSuivant, Long total) {
+        this.elements = elements;
+        this.curseurSuivant = curseurSuivant;
+        this.total = total;
+    }
+    
+    public List<T> getElements() { return elements; }
+    
+    public String getCurseurSuivant() { return curseurSuivant; }
+    
+    public Long getTotal() { return total; }
+}
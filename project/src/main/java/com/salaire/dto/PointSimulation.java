@@ -0,0 +1,53 @@
+package com.salaire.dto;
+
+import com.salaire.entity.CalculSalaire;
+import com.salaire.entity.CalculSalaire.StatutMarital;
+
+import java.math.BigDecimal;
+
+/**
+ * Point d'une simulation : résultat du calcul pour un salaire brut,
+ * avec les taux effectif (prélèvements / brut) et marginal en pourcentage
+ */
+public class PointSimulation {
+    
+    private final StatutMarital statutMarital;
+    private final BigDecimal nombreParts;
+    private final BigDecimal salaireBrut;
+    private final BigDecimal totalCotisations;
+    private final BigDecimal salaireNetImposable;
+    private final BigDecimal impotRevenu;
+    private final BigDecimal salaireNetPayer;
+    private final BigDecimal tauxEffectif;
+    private final BigDecimal tauxMarginal;
+    
+    public PointSimulation(CalculSalaire calcul, BigDecimal tauxMarginal) {
+        this.statutMarital = calcul.getStatutMarital();
+        this.nombreParts = calcul.getNombreParts();
+        this.salaireBrut = calcul.getSalaireBrut();
+        this.totalCotisations = calcul.getTotalCotisations();
+        this.salaireNetImposable = calcul.getSalaireNetImposable();
+        this.impotRevenu = calcul.getImpotRevenu();
+        this.salaireNetPayer = calcul.getSalaireNetPayer();
+        this.tauxEffectif = calcul.getTauxPrelevement();
+        this.tauxMarginal = tauxMarginal;
+    }
+    
+    public StatutMarital getStatutMarital() { return statutMarital; }
+    
+    public BigDecimal getNombreParts() { return nombreParts; }
+    
+    public BigDecimal getSalaireBrut() { return salaireBrut; }
+    
+    public BigDecimal getTotalCotisations() { return totalCotisations; }
+    
+    public BigDecimal getSalaireNetImposable() { return salaireNetImposable; }
+    
+    public BigDecimal getImpotRevenu() { return impotRevenu; }
+    
+    public BigDecimal getSalaireNetPayer() { return salaireNetPayer; }
+    
+    public BigDecimal getTauxEffectif() { return tauxEffectif; }
+    
+    public BigDecimal getTauxMarginal() { return tauxMarginal; }
+}
@@ -0,0 +1,68 @@
+package com.salaire.dto;
+
+import com.salaire.entity.CalculSalaire;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Instantané immuable des résultats d'un calcul de salaire,
+ * indépendant de l'entité JPA (mutable) qui les a produits
+ */
+public record ResultatCalcul(
+    BigDecimal cotisationsSecu,
+    BigDecimal cotisationsChomage,
+    BigDecimal cotisationsRetraite,
+    BigDecimal cotisationsCsgCrds,
+    BigDecimal totalCotisations,
+    BigDecimal impotRevenu,
+    BigDecimal salaireNetImposable,
+    BigDecimal salaireNetPayer,
+    BigDecimal tauxPrelevement,
+    String versionBareme) {
+    
+    /**
+     * Capture les résultats d'un calcul effectué, montants au centime
+     */
+    public static ResultatCalcul de(CalculSalaire calcul) {
+        return new ResultatCalcul(
+            auCentime(calcul.getCotisationsSecu()),
+            auCentime(calcul.getCotisationsChomage()),
+            auCentime(calcul.getCotisationsRetraite()),
+            auCentime(calcul.getCotisationsCsgCrds()),
+            auCentime(calcul.getTotalCotisations()),
+            auCentime(calcul.getImpotRevenu()),
+            auCentime(calcul.getSalaireNetImposable()),
+            auCentime(calcul.getSalaireNetPayer()),
+            tauxPrelevement(calcul),
+            calcul.getVersionBareme());
+    }
+    
+    /**
+     * Taux calculé, ou zéro sans brut positif : le calcul ne renseigne alors pas le taux et
+     * l'entité garde la valeur reçue de l'appelant, qui ne doit pas être reprise par les autres
+     */
+    private static BigDecimal tauxPrelevement(CalculSalaire calcul) {
+        return calcul.getSalaireBrutTotal().signum() > 0 ? calcul.getTauxPrelevement() : BigDecimal.ZERO;
+    }
+    
+    private static BigDecimal auCentime(BigDecimal montant) {
+        return montant != null ? montant.setScale(2, RoundingMode.HALF_UP) : null;
+    }
+    
+    /**
+     * Recopie les résultats sur une entité
+     */
+    public void appliquerA(CalculSalaire calcul) {
+        calcul.setCotisationsSecu(cotisationsSecu);
+        calcul.setCotisationsChomage(cotisationsChomage);
+        calcul.setCotisationsRetraite(cotisationsRetraite);
+        calcul.setCotisationsCsgCrds(cotisationsCsgCrds);
+        calcul.setTotalCotisations(totalCotisations);
+        calcul.setImpotRevenu(impotRevenu);
+        calcul.setSalaireNetImposable(salaireNetImposable);
+        calcul.setSalaireNetPayer(salaireNetPayer);
+        calcul.setTauxPrelevement(tauxPrelevement);
+        calcul.setVersionBareme(versionBareme);
+    }
+}
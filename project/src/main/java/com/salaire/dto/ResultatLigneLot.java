@@ -0,0 +1,35 @@
+package com.salaire.dto;
+
+import com.salaire.entity.CalculSalaire;
+
+/**
+ * Résultat d'une ligne d'un calcul en lot : soit le calcul effectué, soit l'erreur rencontrée
+ */
+public class ResultatLigneLot {
+    
+    private final int index;
+    private final CalculSalaire calcul;
+    private final String erreur;
+    
+    private ResultatLigneLot(int index, CalculSalaire calcul, String erreur) {
+        this.index = index;
+        this.calcul = calcul;
+        this.erreur = erreur;
+    }
+    
+    public static ResultatLigneLot succes(int index, CalculSalaire calcul) {
+        return new ResultatLigneLot(index, calcul, null);
+    }
+    
+    public static ResultatLigneLot echec(int index, String erreur) {
+        return new ResultatLigneLot(index, null, erreur);
+    }
+    
+    public int getIndex() { return index; }
+    
+    public CalculSalaire getCalcul() { return calcul; }
+    
+    public String getErreur() { return erreur; }
+    
+    public boolean isSucces() { return erreur == null; }
+}
@@ -0,0 +1,68 @@
+package com.salaire.dto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Données du tableau de bord d'un utilisateur, lues dans ses statistiques agrégées
+ */
+public class TableauDeBord {
+    
+    private final long nombreCalculs;
+    private final BigDecimal sommeBrut;
+    private final BigDecimal sommeNet;
+    private final BigDecimal minNet;
+    private final BigDecimal maxNet;
+    private final long nombreMoisCourant;
+    private final BigDecimal sommeNetMoisCourant;
+    private final long nombreMoisPrecedent;
+    private final BigDecimal sommeNetMoisPrecedent;
+    private final List<CalculResume> derniersCalculs;
+    private final LocalDateTime derniereModification;
+    
+    public TableauDeBord(long nombreCalculs, BigDecimal sommeBrut, BigDecimal sommeNet,
+                         BigDecimal minNet, BigDecimal maxNet,
+                         long nombreMoisCourant, BigDecimal sommeNetMoisCourant,
+                         long nombreMoisPrecedent, BigDecimal sommeNetMoisPrecedent,
+                         List<CalculResume> derniersCalculs, LocalDateTime derniereModification) {
+        this.nombreCalculs = nombreCalculs;
+        this.sommeBrut = sommeBrut;
+        this.sommeNet = sommeNet;
+        this.minNet = minNet;
+        this.maxNet = maxNet;
+        this.nombreMoisCourant = nombreMoisCourant;
+        this.sommeNetMoisCourant = sommeNetMoisCourant;
+        this.nombreMoisPrecedent = nombreMoisPrecedent;
+        this.sommeNetMoisPrecedent = sommeNetMoisPrecedent;
+        this.derniersCalculs = List.copyOf(derniersCalculs);
+        this.derniereModification = derniereModification;
+    }
+    
+    public long getNombreCalculs() { return nombreCalculs; }
+    
+    public BigDecimal getMoyenneBrut() { return moyenne(sommeBrut, nombreCalculs); }
+    
+    public BigDecimal getMoyenneNet() { return moyenne(sommeNet, nombreCalculs); }
+    
+    public BigDecimal getMinNet() { return minNet; }
+    
+    public BigDecimal getMaxNet() { return maxNet; }
+    
+    public long getNombreMoisCourant() { return nombreMoisCourant; }
+    
+    public BigDecimal getMoyenneNetMoisCourant() { return moyenne(sommeNetMoisCourant, nombreMoisCourant); }
+    
+    public long getNombreMoisPrecedent() { return nombreMoisPrecedent; }
+    
+    public BigDecimal getMoyenneNetMoisPrecedent() { return moyenne(sommeNetMoisPrecedent, nombreMoisPrecedent); }
+    
+    public List<CalculResume> getDerniersCalculs() { return derniersCalculs; }
+    
+    public LocalDateTime getDerniereModification() { return derniereModification; }
+    
+    private static BigDecimal moyenne(BigDecimal somme, long nombre) {
+        return nombre > 0 ? somme.divide(BigDecimal.valueOf(nombre), 2, RoundingMode.HALF_UP) : null;
+    }
+}
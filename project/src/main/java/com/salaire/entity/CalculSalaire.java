@@ -1,5 +1,6 @@
 package com.salaire.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
@@ -10,13 +11,18 @@ import java.time.LocalDateTime;
  * Entité représentant un calcul de salaire net
  */
 @Entity
-@Table(name = "calculs_salaire")
+@Table(name = "calculs_salaire", indexes = {
+    @Index(name = "idx_calculs_user_created_id", columnList = "user_id, created_at, id"),
+    @Index(name = "idx_calculs_created_rapport",
+           columnList = "created_at, statut_marital, salaire_brut, total_cotisations, impot_revenu, salaire_net_payer")
+})
 public class CalculSalaire {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
@@ -83,6 +89,9 @@ public class CalculSalaire {
     @Column(name = "nombre_parts", precision = 3, scale = 1)
     private BigDecimal nombreParts = BigDecimal.valueOf(1.0);
     
+    @Column(name = "version_bareme", length = 20)
+    private String versionBareme;
+    
     // Constructeurs
     public CalculSalaire() {
         this.createdAt = LocalDateTime.now();
@@ -149,6 +158,9 @@ public class CalculSalaire {
     public BigDecimal getNombreParts() { return nombreParts; }
     public void setNombreParts(BigDecimal nombreParts) { this.nombreParts = nombreParts; }
     
+    public String getVersionBareme() { return versionBareme; }
+    public void setVersionBareme(String versionBareme) { this.versionBareme = versionBareme; }
+    
     // Méthodes utilitaires
     public BigDecimal getSalaireBrutTotal() {
         BigDecimal total = salaireBrut;
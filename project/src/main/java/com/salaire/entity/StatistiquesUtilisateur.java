@@ -0,0 +1,108 @@
+package com.salaire.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Statistiques agrégées des calculs d'un utilisateur, tenues à jour à chaque
+ * sauvegarde ou suppression de calcul pour que le tableau de bord se lise en une ligne
+ */
+@Entity
+@Table(name = "statistiques_utilisateur")
+public class StatistiquesUtilisateur {
+    
+    /**
+     * Taille de la colonne des derniers calculs
+     */
+    public static final int LONGUEUR_DERNIERS_CALCULS = 1000;
+    
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Column(name = "nombre_calculs", nullable = false)
+    private long nombreCalculs;
+    
+    @Column(name = "somme_brut", precision = 19, scale = 2, nullable = false)
+    private BigDecimal sommeBrut = BigDecimal.ZERO;
+    
+    @Column(name = "somme_net", precision = 19, scale = 2, nullable = false)
+    private BigDecimal sommeNet = BigDecimal.ZERO;
+    
+    @Column(name = "min_net", precision = 10, scale = 2)
+    private BigDecimal minNet;
+    
+    @Column(name = "max_net", precision = 10, scale = 2)
+    private BigDecimal maxNet;
+    
+    // Évolution mensuelle (mois au format yyyy-MM)
+    @Column(name = "mois_courant", length = 7)
+    private String moisCourant;
+    
+    @Column(name = "nombre_mois_courant", nullable = false)
+    private long nombreMoisCourant;
+    
+    @Column(name = "somme_net_mois_courant", precision = 19, scale = 2, nullable = false)
+    private BigDecimal sommeNetMoisCourant = BigDecimal.ZERO;
+    
+    @Column(name = "nombre_mois_precedent", nullable = false)
+    private long nombreMoisPrecedent;
+    
+    @Column(name = "somme_net_mois_precedent", precision = 19, scale = 2, nullable = false)
+    private BigDecimal sommeNetMoisPrecedent = BigDecimal.ZERO;
+    
+    // Derniers calculs, du plus récent au plus ancien
+    @Column(name = "derniers_calculs", length = LONGUEUR_DERNIERS_CALCULS)
+    private String derniersCalculs;
+    
+    @Column(name = "derniere_modification")
+    private LocalDateTime derniereModification;
+    
+    // Constructeurs
+    public StatistiquesUtilisateur() {}
+    
+    public StatistiquesUtilisateur(Long userId) {
+        this.userId = userId;
+    }
+    
+    // Getters et Setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    
+    public long getNombreCalculs() { return nombreCalculs; }
+    public void setNombreCalculs(long nombreCalculs) { this.nombreCalculs = nombreCalculs; }
+    
+    public BigDecimal getSommeBrut() { return sommeBrut; }
+    public void setSommeBrut(BigDecimal sommeBrut) { this.sommeBrut = sommeBrut; }
+    
+    public BigDecimal getSommeNet() { return sommeNet; }
+    public void setSommeNet(BigDecimal sommeNet) { this.sommeNet = sommeNet; }
+    
+    public BigDecimal getMinNet() { return minNet; }
+    public void setMinNet(BigDecimal minNet) { this.minNet = minNet; }
+    
+    public BigDecimal getMaxNet() { return maxNet; }
+    public void setMaxNet(BigDecimal maxNet) { this.maxNet = maxNet; }
+    
+    public String getMoisCourant() { return moisCourant; }
+    public void setMoisCourant(String moisCourant) { this.moisCourant = moisCourant; }
+    
+    public long getNombreMoisCourant() { return nombreMoisCourant; }
+    public void setNombreMoisCourant(long nombreMoisCourant) { this.nombreMoisCourant = nombreMoisCourant; }
+    
+    public BigDecimal getSommeNetMoisCourant() { return sommeNetMoisCourant; }
+    public void setSommeNetMoisCourant(BigDecimal sommeNetMoisCourant) { this.sommeNetMoisCourant = sommeNetMoisCourant; }
+    
+    public long getNombreMoisPrecedent() { return nombreMoisPrecedent; }
+    public void setNombreMoisPrecedent(long nombreMoisPrecedent) { this.nombreMoisPrecedent = nombreMoisPrecedent; }
+    
+    public BigDecimal getSommeNetMoisPrecedent() { return sommeNetMoisPrecedent; }
+    public void setSommeNetMoisPrecedent(BigDecimal sommeNetMoisPrecedent) { this.sommeNetMoisPrecedent = sommeNetMoisPrecedent; }
+    
+    public String getDerniersCalculs() { return derniersCalculs; }
+    public void setDerniersCalculs(String derniersCalculs) { this.derniersCalculs = derniersCalculs; }
+    
+    public LocalDateTime getDerniereModification() { return derniereModification; }
+    public void setDerniereModification(LocalDateTime derniereModification) { this.derniereModification = derniereModification; }
+}
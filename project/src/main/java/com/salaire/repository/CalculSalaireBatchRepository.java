@@ -0,0 +1,122 @@
+package com.salaire.repository;
+
+import com.salaire.entity.CalculSalaire;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Écriture en masse des calculs par lots JDBC
+ *
+ * La clé IDENTITY de {@link CalculSalaire} empêche Hibernate de regrouper les insertions :
+ * ce repository les envoie par lots (réécrits en INSERT multi-lignes par le pilote MySQL
+ * avec rewriteBatchedStatements=true) et récupère les identifiants générés.
+ * Les entités ne sont pas rattachées au contexte de persistance.
+ */
+@Repository
+@Timed("salaire.persistance.insertions")
+public class CalculSalaireBatchRepository {
+    
+    private static final String INSERTION = "INSERT INTO calculs_salaire ("
+        + "user_id, salaire_brut, primes, indemnites, avantages_nature, heures_supplementaires, "
+        + "cotisations_secu, cotisations_chomage, cotisations_retraite, cotisations_csg_crds, total_cotisations, "
+        + "impot_revenu, salaire_net_imposable, salaire_net_payer, taux_prelevement, "
+        + "created_at, description, statut_marital, nombre_parts, version_bareme"
+        + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${salaire.persistance.taille-lot:1000}")
+    private int tailleLot;
+    
+    /**
+     * Insère les calculs par lots de salaire.persistance.taille-lot lignes
+     * et renseigne leur identifiant
+     */
+    public void insererTous(List<CalculSalaire> calculs) {
+        for (int debut = 0; debut < calculs.size(); debut += tailleLot) {
+            insererLot(calculs.subList(debut, Math.min(debut + tailleLot, calculs.size())));
+        }
+    }
+    
+    private void insererLot(List<CalculSalaire> lot) {
+        meterRegistry.summary("salaire.persistance.lot.taille").record(lot.size());
+        GeneratedKeyHolder cles = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+            connexion -> connexion.prepareStatement(INSERTION, new String[] {"id"}),
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    lier(ps, lot.get(i));
+                }
+                
+                @Override
+                public int getBatchSize() {
+                    return lot.size();
+                }
+            },
+            cles);
+        
+        List<Map<String, Object>> identifiants = cles.getKeyList();
+        for (int i = 0; i < lot.size() && i < identifiants.size(); i++) {
+            Object id = identifiants.get(i).values().iterator().next();
+            lot.get(i).setId(((Number) id).longValue());
+        }
+    }
+    
+    private static void lier(PreparedStatement ps, CalculSalaire calcul) throws SQLException {
+        if (calcul.getUser() != null && calcul.getUser().getId() != null) {
+            ps.setLong(1, calcul.getUser().getId());
+        } else {
+            ps.setNull(1, Types.BIGINT);
+        }
+        lierMontant(ps, 2, calcul.getSalaireBrut());
+        lierMontant(ps, 3, calcul.getPrimes());
+        lierMontant(ps, 4, calcul.getIndemnites());
+        lierMontant(ps, 5, calcul.getAvantagesNature());
+        lierMontant(ps, 6, calcul.getHeuresSupplementaires());
+        lierMontant(ps, 7, calcul.getCotisationsSecu());
+        lierMontant(ps, 8, calcul.getCotisationsChomage());
+        lierMontant(ps, 9, calcul.getCotisationsRetraite());
+        lierMontant(ps, 10, calcul.getCotisationsCsgCrds());
+        lierMontant(ps, 11, calcul.getTotalCotisations());
+        lierMontant(ps, 12, calcul.getImpotRevenu());
+        lierMontant(ps, 13, calcul.getSalaireNetImposable());
+        lierMontant(ps, 14, calcul.getSalaireNetPayer());
+        lierMontant(ps, 15, calcul.getTauxPrelevement());
+        if (calcul.getCreatedAt() != null) {
+            ps.setTimestamp(16, Timestamp.valueOf(calcul.getCreatedAt()));
+        } else {
+            ps.setNull(16, Types.TIMESTAMP);
+        }
+        ps.setString(17, calcul.getDescription());
+        ps.setString(18, calcul.getStatutMarital() != null ? calcul.getStatutMarital().name() : null);
+        lierMontant(ps, 19, calcul.getNombreParts());
+        ps.setString(20, calcul.getVersionBareme());
+    }
+    
+    private static void lierMontant(PreparedStatement ps, int index, BigDecimal montant) throws SQLException {
+        if (montant != null) {
+            ps.setBigDecimal(index, montant);
+        } else {
+            ps.setNull(index, Types.DECIMAL);
+        }
+    }
+}
@@ -1,16 +1,25 @@
 package com.salaire.repository;
 
+import com.salaire.dto.AgregatCalculs;
+import com.salaire.dto.CalculResume;
+import com.salaire.dto.LigneAgregatJour;
 import com.salaire.entity.CalculSalaire;
 import com.salaire.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository pour la gestion des calculs de salaire
@@ -28,6 +37,34 @@ public interface CalculSalaireRepository extends JpaRepository<CalculSalaire, Lo
      */
     Page<CalculSalaire> findByUserOrderByCreatedAtDesc(User user, Pageable pageable);
     
+    /**
+     * Première page de l'historique d'un utilisateur, triée par (date, id) décroissants, sans comptage
+     */
+    @Query("SELECT c FROM CalculSalaire c WHERE c.user = :user ORDER BY c.createdAt DESC, c.id DESC")
+    List<CalculSalaire> findPremierePageHistorique(@Param("user") User user, Pageable pageable);
+    
+    /**
+     * Page suivante de l'historique : calculs strictement antérieurs au curseur (date, id)
+     */
+    @Query("SELECT c FROM CalculSalaire c WHERE c.user = :user " +
+           "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CalculSalaire> findPageHistoriqueApres(@Param("user") User user,
+                                                @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") Long id,
+                                                Pageable pageable);
+    
+    /**
+     * Parcourt l'historique d'un utilisateur par curseur JDBC, par lots de 500 lignes
+     * (à consommer dans une transaction et à fermer après usage)
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM CalculSalaire c WHERE c.user.id = :userId ORDER BY c.createdAt DESC, c.id DESC")
+    Stream<CalculSalaire> streamByUserId(@Param("userId") Long userId);
+    
     /**
      * Trouve les calculs d'un utilisateur créés après une certaine date
      */
@@ -44,10 +81,111 @@ public interface CalculSalaireRepository extends JpaRepository<CalculSalaire, Lo
     @Query("SELECT c FROM CalculSalaire c WHERE c.user = :user ORDER BY c.createdAt DESC")
     List<CalculSalaire> findTopByUser(@Param("user") User user, Pageable pageable);
     
+    /**
+     * Résumés des derniers calculs d'un utilisateur (colonnes affichées uniquement)
+     */
+    @Query("SELECT new com.salaire.dto.CalculResume(c.id, c.createdAt, c.salaireBrut, c.salaireNetPayer, c.description) " +
+           "FROM CalculSalaire c WHERE c.user.id = :userId ORDER BY c.createdAt DESC, c.id DESC")
+    List<CalculResume> findResumesByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    /**
+     * Résumés des calculs d'un utilisateur avec pagination
+     */
+    @Query(value = "SELECT new com.salaire.dto.CalculResume(c.id, c.createdAt, c.salaireBrut, c.salaireNetPayer, c.description) " +
+                   "FROM CalculSalaire c WHERE c.user.id = :userId ORDER BY c.createdAt DESC, c.id DESC",
+           countQuery = "SELECT COUNT(c) FROM CalculSalaire c WHERE c.user.id = :userId")
+    Page<CalculResume> findPageResumesByUserId(@Param("userId") Long userId, Pageable pageable);
+    
     /**
      * Trouve tous les calculs créés entre deux dates
      */
     @Query("SELECT c FROM CalculSalaire c WHERE c.createdAt BETWEEN :startDate AND :endDate ORDER BY c.createdAt DESC")
     List<CalculSalaire> findByCreatedAtBetween(@Param("startDate") LocalDateTime startDate, 
                                                @Param("endDate") LocalDateTime endDate);
+    
+    /**
+     * Identifiants des plus anciens calculs d'un utilisateur, par ordre croissant
+     * (bornes des tranches de suppression)
+     */
+    @Query("SELECT c.id FROM CalculSalaire c WHERE c.user.id = :userId ORDER BY c.id ASC")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    /**
+     * Supprime en une seule requête les calculs d'un utilisateur jusqu'à un identifiant inclus
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM CalculSalaire c WHERE c.user.id = :userId AND c.id <= :idMax")
+    int deleteByUserIdJusqua(@Param("userId") Long userId, @Param("idMax") Long idMax);
+    
+    /**
+     * Supprime en une seule requête tous les calculs d'un utilisateur
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM CalculSalaire c WHERE c.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+    
+    /**
+     * Trouve un calcul appartenant à un utilisateur, en une seule requête
+     */
+    Optional<CalculSalaire> findByIdAndUserId(Long id, Long userId);
+    
+    /**
+     * Supprime un calcul appartenant à un utilisateur, en une seule requête
+     *
+     * @return le nombre de lignes supprimées (0 si le calcul n'existe pas ou appartient à un autre utilisateur)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM CalculSalaire c WHERE c.id = :id AND c.user.id = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+    
+    /**
+     * Résumé d'un calcul appartenant à un utilisateur
+     */
+    @Query("SELECT new com.salaire.dto.CalculResume(c.id, c.createdAt, c.salaireBrut, c.salaireNetPayer, c.description) " +
+           "FROM CalculSalaire c WHERE c.id = :id AND c.user.id = :userId")
+    Optional<CalculResume> findResumeByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+    
+    /**
+     * Agrégat de tous les calculs d'un utilisateur
+     */
+    @Query("SELECT new com.salaire.dto.AgregatCalculs(COUNT(c), SUM(c.salaireBrut), SUM(c.salaireNetPayer), " +
+           "MIN(c.salaireNetPayer), MAX(c.salaireNetPayer)) FROM CalculSalaire c WHERE c.user.id = :userId")
+    AgregatCalculs agregerParUtilisateur(@Param("userId") Long userId);
+    
+    /**
+     * Agrégat des calculs d'un utilisateur créés dans l'intervalle [debut, fin[
+     */
+    @Query("SELECT new com.salaire.dto.AgregatCalculs(COUNT(c), SUM(c.salaireBrut), SUM(c.salaireNetPayer), " +
+           "MIN(c.salaireNetPayer), MAX(c.salaireNetPayer)) FROM CalculSalaire c " +
+           "WHERE c.user.id = :userId AND c.createdAt >= :debut AND c.createdAt < :fin")
+    AgregatCalculs agregerParUtilisateurEntre(@Param("userId") Long userId,
+                                              @Param("debut") LocalDateTime debut,
+                                              @Param("fin") LocalDateTime fin);
+    
+    /**
+     * Identifiants des utilisateurs ayant au moins un calcul
+     */
+    @Query("SELECT DISTINCT c.user.id FROM CalculSalaire c WHERE c.user IS NOT NULL")
+    List<Long> findUserIdsAvecCalculs();
+    
+    /**
+     * Agrégats par jour et situation familiale des calculs créés dans [debut, fin[
+     */
+    @Query("SELECT new com.salaire.dto.LigneAgregatJour(" +
+           "extract(year from c.createdAt), extract(month from c.createdAt), extract(day from c.createdAt), " +
+           "c.statutMarital, COUNT(c), SUM(c.salaireBrut), SUM(c.totalCotisations), SUM(c.impotRevenu), SUM(c.salaireNetPayer)) " +
+           "FROM CalculSalaire c WHERE c.createdAt >= :debut AND c.createdAt < :fin " +
+           "GROUP BY extract(year from c.createdAt), extract(month from c.createdAt), extract(day from c.createdAt), c.statutMarital")
+    List<LigneAgregatJour> agregerParJour(@Param("debut") LocalDateTime debut, @Param("fin") LocalDateTime fin);
+    
+    /**
+     * Agrégats par mois et situation familiale des calculs créés dans [debut, fin[
+     * (la date de chaque ligne est le premier jour du mois)
+     */
+    @Query("SELECT new com.salaire.dto.LigneAgregatJour(" +
+           "extract(year from c.createdAt), extract(month from c.createdAt), 1, " +
+           "c.statutMarital, COUNT(c), SUM(c.salaireBrut), SUM(c.totalCotisations), SUM(c.impotRevenu), SUM(c.salaireNetPayer)) " +
+           "FROM CalculSalaire c WHERE c.createdAt >= :debut AND c.createdAt < :fin " +
+           "GROUP BY extract(year from c.createdAt), extract(month from c.createdAt), c.statutMarital")
+    List<LigneAgregatJour> agregerParMois(@Param("debut") LocalDateTime debut, @Param("fin") LocalDateTime fin);
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.salaire.repository;
+
+import com.salaire.entity.StatistiquesUtilisateur;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository des statistiques agrégées par utilisateur
+ */
+@Repository
+public interface StatistiquesUtilisateurRepository extends JpaRepository<StatistiquesUtilisateur, Long> {
+    
+    /**
+     * Lit les statistiques d'un utilisateur en verrouillant la ligne jusqu'à la fin de la transaction
+     * (les mises à jour concurrentes d'un même utilisateur sont sérialisées)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM StatistiquesUtilisateur s WHERE s.userId = :userId")
+    Optional<StatistiquesUtilisateur> findPourMiseAJour(@Param("userId") Long userId);
+    
+    /**
+     * Crée la ligne d'un utilisateur, vide et à reconstruire (sans date de dernière modification),
+     * sans effet si elle existe déjà. Une ligne existante est verrouillée en écriture, et non
+     * en lecture comme par INSERT IGNORE : deux insertions concurrentes ne peuvent pas ensuite
+     * s'interbloquer en demandant chacune le verrou en écriture.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO statistiques_utilisateur (user_id, nombre_calculs, somme_brut, somme_net, "
+        + "nombre_mois_courant, somme_net_mois_courant, nombre_mois_precedent, somme_net_mois_precedent) "
+        + "VALUES (:userId, 0, 0, 0, 0, 0, 0, 0) ON DUPLICATE KEY UPDATE user_id = user_id", nativeQuery = true)
+    int insererSiAbsente(@Param("userId") Long userId);
+    
+    /**
+     * Identifiants des utilisateurs ayant des statistiques
+     */
+    @Query("SELECT s.userId FROM StatistiquesUtilisateur s")
+    List<Long> findUserIds();
+    
+    /**
+     * Date de dernière modification des statistiques d'un utilisateur (sans charger l'entité)
+     */
+    @Query("SELECT s.derniereModification FROM StatistiquesUtilisateur s WHERE s.userId = :userId")
+    Optional<LocalDateTime> findDerniereModification(@Param("userId") Long userId);
+    
+    /**
+     * Supprime les statistiques d'un utilisateur
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM StatistiquesUtilisateur s WHERE s.userId = :userId")
+    int deleteByUserIdDirect(@Param("userId") Long userId);
+}
@@ -0,0 +1,62 @@
+package com.salaire.security;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Encodeur de mots de passe dont le hachage (encodage et vérification) s'exécute sur un pool dédié et borné
+ *
+ * Le thread de la requête attend le résultat, mais le nombre de hachages simultanés est limité par
+ * la taille du pool : une rafale de connexions ou d'inscriptions ne peut pas occuper tous les cœurs.
+ * Lorsque la file d'attente du pool est pleine, la demande est refusée aussitôt
+ * ({@link AuthenticationServiceException}) : échec de connexion, ou erreur d'inscription.
+ */
+public class EncodeurMotDePasseBorne implements PasswordEncoder {
+    
+    private final PasswordEncoder delegue;
+    
+    private final Executor executor;
+    
+    public EncodeurMotDePasseBorne(PasswordEncoder delegue, Executor executor) {
+        this.delegue = delegue;
+        this.executor = executor;
+    }
+    
+    @Override
+    public String encode(CharSequence motDePasse) {
+        return hacher(() -> delegue.encode(motDePasse));
+    }
+    
+    @Override
+    public boolean matches(CharSequence motDePasse, String motDePasseEncode) {
+        return hacher(() -> delegue.matches(motDePasse, motDePasseEncode));
+    }
+    
+    /**
+     * Lecture de l'identifiant et du coût du hachage stocké, sans hachage : exécutée sur place
+     */
+    @Override
+    public boolean upgradeEncoding(String motDePasseEncode) {
+        return delegue.upgradeEncoding(motDePasseEncode);
+    }
+    
+    private <T> T hacher(Supplier<T> hachage) {
+        CompletableFuture<T> resultat;
+        try {
+            resultat = CompletableFuture.supplyAsync(hachage, executor);
+        } catch (RejectedExecutionException e) {
+            throw new AuthenticationServiceException("Trop d'authentifications en cours, veuillez réessayer", e);
+        }
+        try {
+            return resultat.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.salaire.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Émission des jetons d'accès (JWT signés HMAC-SHA256) de l'API
+ *
+ * Le jeton porte tout ce qu'il faut pour servir une requête sans session ni lecture de
+ * l'utilisateur : nom (sub), identifiant en base (uid, absent pour le compte d'administration
+ * défini en configuration) et rôles. Il est vérifié par tout nœud partageant le secret
+ * salaire.securite.jwt.secret ; n'étant pas révocable, sa durée de validité est courte.
+ */
+@Service
+public class JetonService {
+    
+    public static final String EMETTEUR = "calculateur-salaire";
+    public static final String CLAIM_UID = "uid";
+    public static final String CLAIM_ROLES = "roles";
+    
+    private final JwtEncoder jwtEncoder;
+    
+    private final Duration duree;
+    
+    public JetonService(JwtEncoder jwtEncoder,
+                        @Value("${salaire.securite.jwt.duree:15m}") Duration duree) {
+        this.jwtEncoder = jwtEncoder;
+        this.duree = duree;
+    }
+    
+    /**
+     * Jeton d'accès de l'utilisateur authentifié
+     */
+    public String emettre(Authentication authentication) {
+        Instant maintenant = Instant.now();
+        JwtClaimsSet.Builder claims = JwtClaimsSet.builder()
+            .issuer(EMETTEUR)
+            .subject(authentication.getName())
+            .issuedAt(maintenant)
+            .expiresAt(maintenant.plus(duree))
+            .claim(CLAIM_ROLES, authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
+        if (authentication.getPrincipal() instanceof UtilisateurPrincipal principal && principal.getId() != null) {
+            claims.claim(CLAIM_UID, principal.getId());
+        }
+        JwsHeader entete = JwsHeader.with(MacAlgorithm.HS256).build();
+        return jwtEncoder.encode(JwtEncoderParameters.from(entete, claims.build())).getTokenValue();
+    }
+    
+    /**
+     * Durée de validité des jetons émis
+     */
+    public Duration getDuree() {
+        return duree;
+    }
+}
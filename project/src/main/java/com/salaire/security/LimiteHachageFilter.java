@@ -0,0 +1,71 @@
+package com.salaire.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Limite, par client (adresse IP), le nombre de requêtes simultanées qui hachent un mot de passe :
+ * connexion (POST /login), inscription (POST /user/register) et requêtes en authentification HTTP Basic
+ * (dont l'obtention d'un jeton de l'API)
+ *
+ * Au-delà de la limite, la requête est refusée aussitôt (429) sans rien hacher, de sorte qu'un
+ * même client ne puisse pas occuper à lui seul le pool de hachage ({@link EncodeurMotDePasseBorne}).
+ * Derrière un proxy, l'adresse du client est celle des en-têtes X-Forwarded-* si
+ * server.forward-headers-strategy est configuré.
+ */
+public class LimiteHachageFilter extends OncePerRequestFilter {
+    
+    private final int limiteParClient;
+    
+    // Un client inactif est oublié : une entrée évincée pendant une requête ne fait que relâcher la limite
+    private final Cache<String, Semaphore> requetesEnCours = Caffeine.newBuilder()
+        .expireAfterAccess(Duration.ofMinutes(10))
+        .maximumSize(100_000)
+        .build();
+    
+    public LimiteHachageFilter(int limiteParClient) {
+        this.limiteParClient = limiteParClient;
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String autorisation = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (autorisation != null && autorisation.regionMatches(true, 0, "Basic ", 0, 6)) {
+            return false;
+        }
+        String chemin = request.getServletPath();
+        return !("POST".equals(request.getMethod()) && ("/login".equals(chemin) || "/user/register".equals(chemin)));
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Semaphore semaphore = requetesEnCours.get(request.getRemoteAddr(), client -> new Semaphore(limiteParClient));
+        if (!semaphore.tryAcquire()) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write("{\"error\":\"Trop de demandes d'authentification simultanées\"}");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            semaphore.release();
+        }
+    }
+}
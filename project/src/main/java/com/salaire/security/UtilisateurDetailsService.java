@@ -0,0 +1,163 @@
+package com.salaire.security;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.salaire.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Chargement des utilisateurs pour Spring Security, avec un cache à expiration après écriture
+ *
+ * Les utilisateurs enregistrés sont lus en base ; le compte d'administration défini par
+ * spring.security.user.* reste disponible lorsqu'aucun utilisateur ne porte ce nom.
+ * Les entrées sont invalidées par {@link com.salaire.service.UserService} à chaque modification.
+ *
+ * La lecture en base se fait hors du verrou de la table du cache : seule une promesse y est
+ * déposée, de sorte qu'une requête sur thread virtuel n'immobilise pas son thread porteur
+ * pendant l'appel JDBC, et les requêtes concurrentes pour le même nom attendent la même lecture.
+ *
+ * À la connexion, Spring Security fait recalculer par {@link #updatePassword} les mots de passe
+ * hachés sans préfixe d'algorithme ou à un coût inférieur à celui configuré.
+ */
+@Service
+public class UtilisateurDetailsService implements UserDetailsService, UserDetailsPasswordService {
+    
+    private final UserRepository userRepository;
+    
+    private final UtilisateurPrincipal administrateur;
+    
+    private final AsyncCache<String, UtilisateurPrincipal> cache;
+    
+    public UtilisateurDetailsService(UserRepository userRepository,
+                                     SecurityProperties securityProperties,
+                                     PasswordEncoder passwordEncoder,
+                                     @Value("${salaire.utilisateurs.cache.duree:5m}") Duration duree,
+                                     @Value("${salaire.utilisateurs.cache.taille-max:10000}") long tailleMax,
+                                     MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.administrateur = administrateur(securityProperties.getUser(), passwordEncoder);
+        this.cache = Caffeine.newBuilder()
+            .expireAfterWrite(duree)
+            .maximumSize(tailleMax)
+            .recordStats()
+            .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "utilisateurs");
+    }
+    
+    @Override
+    public UtilisateurPrincipal loadUserByUsername(String username) throws UsernameNotFoundException {
+        UtilisateurPrincipal principal;
+        try {
+            principal = chargerEnCache(username).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        if (principal == null) {
+            throw new UsernameNotFoundException("Utilisateur inconnu : " + username);
+        }
+        return principal;
+    }
+    
+    /**
+     * Enregistre le mot de passe réencodé au coût courant (le compte d'administration de
+     * spring.security.user.*, encodé au démarrage, n'est pas en base)
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        if (!(user instanceof UtilisateurPrincipal principal) || principal.getId() == null) {
+            return user;
+        }
+        userRepository.updatePassword(principal.getId(), newPassword);
+        invalider(principal.getId(), principal.getUsername());
+        return new UtilisateurPrincipal(principal.getId(), principal.getUsername(), newPassword,
+            new ArrayList<>(principal.getAuthorities()));
+    }
+    
+    /**
+     * Retire du cache un utilisateur, sous son nom actuel comme sous un éventuel ancien nom,
+     * une fois la transaction en cours validée
+     */
+    public void invalider(Long id, String username) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            retirer(id, username);
+            return;
+        }
+        // Retiré avant la validation, l'utilisateur pourrait être relu par une connexion concurrente
+        // et remis en cache avec son ancien mot de passe
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                retirer(id, username);
+            }
+        });
+    }
+    
+    private void retirer(Long id, String username) {
+        if (username != null) {
+            cache.synchronous().invalidate(username);
+        }
+        if (id != null) {
+            cache.synchronous().asMap().values().removeIf(principal -> id.equals(principal.getId()));
+        }
+    }
+    
+    private CompletableFuture<UtilisateurPrincipal> chargerEnCache(String username) {
+        // Lecture préalable : seule elle compte les succès et défauts du cache (les accès par asMap() ne sont pas comptés)
+        CompletableFuture<UtilisateurPrincipal> existante = cache.getIfPresent(username);
+        if (existante != null) {
+            return existante;
+        }
+        CompletableFuture<UtilisateurPrincipal> lecture = new CompletableFuture<>();
+        existante = cache.asMap().putIfAbsent(username, lecture);
+        if (existante != null) {
+            return existante;
+        }
+        // Une valeur nulle ou une erreur retire l'entrée du cache
+        try {
+            lecture.complete(charger(username));
+        } catch (RuntimeException e) {
+            lecture.completeExceptionally(e);
+        }
+        return lecture;
+    }
+    
+    private UtilisateurPrincipal charger(String username) {
+        return userRepository.findByUsername(username)
+            .map(UtilisateurPrincipal::de)
+            .orElseGet(() -> administrateur != null && administrateur.getUsername().equals(username)
+                ? administrateur : null);
+    }
+    
+    private static UtilisateurPrincipal administrateur(SecurityProperties.User utilisateur, PasswordEncoder passwordEncoder) {
+        if (utilisateur.isPasswordGenerated()) {
+            return null;
+        }
+        List<GrantedAuthority> roles = new ArrayList<>();
+        for (String role : utilisateur.getRoles()) {
+            roles.add(new SimpleGrantedAuthority("ROLE_" + role));
+        }
+        return new UtilisateurPrincipal(null, utilisateur.getName(),
+            passwordEncoder.encode(utilisateur.getPassword()), roles);
+    }
+}
@@ -0,0 +1,85 @@
+package com.salaire.security;
+
+import com.salaire.entity.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Principal de l'utilisateur connecté, portant son identifiant en base
+ *
+ * Immuable et partagé par le cache de {@link UtilisateurDetailsService} : il n'implémente pas
+ * CredentialsContainer, afin que l'effacement des identifiants après authentification
+ * ne vide pas le mot de passe de l'instance en cache.
+ */
+public class UtilisateurPrincipal implements UserDetails {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private final Long id;
+    private final String username;
+    private final String password;
+    // Type sérialisable déclaré : le principal est conservé dans la session HTTP
+    private final ArrayList<GrantedAuthority> authorities;
+    
+    public UtilisateurPrincipal(Long id, String username, String password, List<GrantedAuthority> authorities) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.authorities = new ArrayList<>(authorities);
+    }
+    
+    /**
+     * Construit le principal d'un utilisateur enregistré
+     */
+    public static UtilisateurPrincipal de(User user) {
+        return new UtilisateurPrincipal(user.getId(), user.getUsername(), user.getPassword(),
+            List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name())));
+    }
+    
+    /**
+     * Identifiant de l'utilisateur en base (null pour le compte d'administration défini en configuration)
+     */
+    public Long getId() { return id; }
+    
+    @Override
+    public String getUsername() { return username; }
+    
+    @Override
+    public String getPassword() { return password; }
+    
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() { return Collections.unmodifiableList(authorities); }
+    
+    @Override
+    public boolean isAccountNonExpired() { return true; }
+    
+    @Override
+    public boolean isAccountNonLocked() { return true; }
+    
+    @Override
+    public boolean isCredentialsNonExpired() { return true; }
+    
+    @Override
+    public boolean isEnabled() { return true; }
+    
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof UtilisateurPrincipal autre && username.equals(autre.username);
+    }
+    
+    @Override
+    public int hashCode() {
+        return username.hashCode();
+    }
+    
+    @Override
+    public String toString() {
+        return "UtilisateurPrincipal[id=" + id + ", username=" + username + "]";
+    }
+}
@@ -0,0 +1,145 @@
+package com.salaire.service;
+
+import com.salaire.bareme.Bareme;
+import com.salaire.bareme.BaremeChargeur;
+import com.salaire.bareme.BaremesRechargesEvent;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Service de gestion des barèmes de calcul
+ *
+ * Les barèmes sont lus depuis des fichiers au démarrage puis publiés sous forme d'une table
+ * immuable indexée par date d'effet. Un rechargement construit une nouvelle table et la
+ * substitue d'un seul coup : les calculs en cours lisent la référence sans verrou.
+ */
+@Service
+public class BaremeService {
+    
+    private final String emplacements;
+    
+    private final PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+    
+    @Autowired(required = false)
+    private ApplicationEventPublisher eventPublisher;
+    
+    private volatile NavigableMap<LocalDate, Bareme> baremes = Collections.emptyNavigableMap();
+    
+    /**
+     * Sérialise les rechargements (verrou plutôt que synchronized : la lecture des fichiers
+     * ne bloque pas le thread porteur lorsque la requête s'exécute sur un thread virtuel)
+     */
+    private final ReentrantLock verrouRechargement = new ReentrantLock();
+    
+    /**
+     * @param emplacements motifs de ressources séparés par des virgules ; à date d'effet égale,
+     *                     le dernier emplacement l'emporte (ex : surcharge d'un répertoire externe)
+     */
+    public BaremeService(@Value("${salaire.baremes.emplacements:classpath*:baremes/*.properties}") String emplacements) {
+        this.emplacements = emplacements;
+    }
+    
+    @PostConstruct
+    public void initialiser() {
+        recharger();
+    }
+    
+    /**
+     * Relit tous les barèmes et remplace la table courante.
+     * En cas d'erreur, la table courante est conservée.
+     *
+     * @return le nombre de barèmes chargés
+     */
+    public int recharger() {
+        verrouRechargement.lock();
+        try {
+            return relire();
+        } finally {
+            verrouRechargement.unlock();
+        }
+    }
+    
+    private int relire() {
+        NavigableMap<LocalDate, Bareme> nouveauxBaremes = new TreeMap<>();
+        
+        for (String emplacement : emplacements.split(",")) {
+            if (emplacement.isBlank()) {
+                continue;
+            }
+            try {
+                for (Resource ressource : resolver.getResources(emplacement.trim())) {
+                    try (InputStream entree = ressource.getInputStream()) {
+                        Bareme bareme = BaremeChargeur.charger(ressource.getFilename(), entree);
+                        nouveauxBaremes.put(bareme.getDateEffet(), bareme);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Impossible de lire les barèmes " + emplacement, e);
+            }
+        }
+        
+        if (nouveauxBaremes.isEmpty()) {
+            throw new IllegalStateException("Aucun barème trouvé dans " + emplacements);
+        }
+        
+        baremes = Collections.unmodifiableNavigableMap(nouveauxBaremes);
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(new BaremesRechargesEvent(nouveauxBaremes.size()));
+        }
+        return nouveauxBaremes.size();
+    }
+    
+    /**
+     * Trouve le barème en vigueur à une date
+     */
+    public Bareme baremePour(LocalDate date) {
+        Map.Entry<LocalDate, Bareme> entree = baremes.floorEntry(date);
+        if (entree == null) {
+            throw new IllegalArgumentException("Aucun barème applicable au " + date);
+        }
+        return entree.getValue();
+    }
+    
+    /**
+     * Trouve le barème le plus récent d'une année
+     */
+    public Optional<Bareme> trouverParAnnee(int annee) {
+        return Optional.ofNullable(baremes.floorEntry(LocalDate.of(annee, 12, 31)))
+            .map(Map.Entry::getValue)
+            .filter(bareme -> bareme.getAnnee() == annee);
+    }
+    
+    /**
+     * Trouve un barème par sa version
+     */
+    public Optional<Bareme> trouverParVersion(String version) {
+        return baremes.values().stream()
+            .filter(bareme -> bareme.getVersion().equals(version))
+            .findFirst();
+    }
+    
+    /**
+     * Liste les barèmes chargés, par date d'effet croissante
+     */
+    public List<Bareme> lister() {
+        return new ArrayList<>(baremes.values());
+    }
+}
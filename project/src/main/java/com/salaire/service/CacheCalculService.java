@@ -0,0 +1,133 @@
+package com.salaire.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.salaire.bareme.Bareme;
+import com.salaire.bareme.BaremesRechargesEvent;
+import com.salaire.dto.ResultatCalcul;
+import com.salaire.entity.CalculSalaire;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache des résultats de calcul pour des entrées identiques
+ *
+ * La clé est le tuple normalisé des montants saisis, du nombre de parts et de la version
+ * du barème applicable ; la valeur est un instantané immuable des résultats, recopié
+ * sur l'entité de l'appelant. Le cache est borné en taille (éviction LRU approchée).
+ */
+@Service
+public class CacheCalculService {
+    
+    private final SalaireCalculatorService calculatorService;
+    
+    private final BaremeService baremeService;
+    
+    private final boolean actif;
+    
+    private final Cache<CleCalcul, ResultatCalcul> cache;
+    
+    public CacheCalculService(SalaireCalculatorService calculatorService,
+                              BaremeService baremeService,
+                              @Value("${salaire.cache.actif:true}") boolean actif,
+                              @Value("${salaire.cache.taille-max:10000}") long tailleMax,
+                              MeterRegistry meterRegistry) {
+        this.calculatorService = calculatorService;
+        this.baremeService = baremeService;
+        this.actif = actif;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(tailleMax)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "calculs");
+    }
+    
+    /**
+     * Effectue le calcul, ou recopie le résultat d'un calcul identique déjà effectué
+     */
+    public CalculSalaire calculer(CalculSalaire calcul) {
+        if (!actif || calcul.getSalaireBrut() == null || calcul.getNombreParts() == null) {
+            return calculatorService.calculerSalaireNet(calcul);
+        }
+        
+        LocalDate dateCalcul = calcul.getCreatedAt() != null ? calcul.getCreatedAt().toLocalDate() : LocalDate.now();
+        Bareme bareme = baremeService.baremePour(dateCalcul);
+        
+        CleCalcul cle = CleCalcul.de(calcul, bareme);
+        if (cle == null) {
+            return calculatorService.calculerSalaireNet(calcul, bareme);
+        }
+        
+        // Appliqué aussi sur un échec de cache : le résultat rendu est le même, échelle comprise
+        ResultatCalcul resultat = cache.get(cle,
+            c -> ResultatCalcul.de(calculatorService.calculerSalaireNet(calcul, bareme)));
+        resultat.appliquerA(calcul);
+        return calcul;
+    }
+    
+    /**
+     * Vide le cache lorsque les barèmes sont rechargés (un fichier a pu changer sans changer de version)
+     */
+    @EventListener
+    public void surRechargementBaremes(BaremesRechargesEvent event) {
+        cache.invalidateAll();
+    }
+    
+    /**
+     * Statistiques d'utilisation du cache
+     */
+    public Map<String, Object> statistiques() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> statistiques = new LinkedHashMap<>();
+        statistiques.put("actif", actif);
+        statistiques.put("taille", cache.estimatedSize());
+        statistiques.put("succes", stats.hitCount());
+        statistiques.put("echecs", stats.missCount());
+        statistiques.put("tauxSucces", stats.hitRate());
+        statistiques.put("evictions", stats.evictionCount());
+        return statistiques;
+    }
+    
+    /**
+     * Tuple normalisé des entrées du calcul : montants absents ramenés à zéro et montants
+     * mis au centime (3000, 3000.0 et 3000.000 sont la même clé), zéros non significatifs
+     * du nombre de parts supprimés
+     */
+    record CleCalcul(BigDecimal salaireBrut, BigDecimal primes, BigDecimal indemnites,
+                     BigDecimal avantagesNature, BigDecimal heuresSupplementaires,
+                     BigDecimal nombreParts, String versionBareme) {
+        
+        /**
+         * Clé d'un calcul, ou null si un montant n'est pas exprimable au centime
+         * (le calcul n'est alors pas mis en cache)
+         */
+        static CleCalcul de(CalculSalaire calcul, Bareme bareme) {
+            try {
+                return new CleCalcul(
+                    auCentime(calcul.getSalaireBrut()),
+                    auCentime(calcul.getPrimes()),
+                    auCentime(calcul.getIndemnites()),
+                    auCentime(calcul.getAvantagesNature()),
+                    auCentime(calcul.getHeuresSupplementaires()),
+                    calcul.getNombreParts().stripTrailingZeros(),
+                    bareme.getVersion());
+            } catch (ArithmeticException e) {
+                return null;
+            }
+        }
+        
+        private static BigDecimal auCentime(BigDecimal montant) {
+            return montant == null ? BigDecimal.ZERO.setScale(2) : montant.setScale(2, RoundingMode.UNNECESSARY);
+        }
+    }
+}
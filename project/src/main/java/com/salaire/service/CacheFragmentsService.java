@@ -0,0 +1,61 @@
+package com.salaire.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache du rendu HTML des fragments statiques des pages (navigation, présentation, pied de page)
+ *
+ * Un fragment est rendu une fois, hors de toute requête, puis inséré tel quel dans les pages
+ * (th:utext) : il ne doit dépendre ni de l'utilisateur ni de la requête (session, jeton CSRF,
+ * liens relatifs au contexte). Seule la variable {@code variante} lui est transmise, et fait
+ * partie de la clé du cache. Désactivé (salaire.fragments.cache.actif=false), le fragment est
+ * rendu à chaque appel, ce qui permet de modifier les templates sans redémarrer.
+ */
+@Service
+public class CacheFragmentsService {
+    
+    private final ITemplateEngine templateEngine;
+    
+    private final boolean actif;
+    
+    private final Map<CleFragment, String> cache = new ConcurrentHashMap<>();
+    
+    public CacheFragmentsService(ITemplateEngine templateEngine,
+                                 @Value("${salaire.fragments.cache.actif:true}") boolean actif) {
+        this.templateEngine = templateEngine;
+        this.actif = actif;
+    }
+    
+    /**
+     * Rendu HTML du fragment {@code fragment} du template {@code template}
+     */
+    public String rendre(String template, String fragment) {
+        return rendre(template, fragment, "");
+    }
+    
+    /**
+     * Rendu HTML d'une variante du fragment (par exemple le lien actif de la navigation)
+     */
+    public String rendre(String template, String fragment, String variante) {
+        CleFragment cle = new CleFragment(template, fragment, variante);
+        return actif ? cache.computeIfAbsent(cle, this::rendre) : rendre(cle);
+    }
+    
+    private String rendre(CleFragment cle) {
+        Context context = new Context(Locale.FRANCE);
+        context.setVariable("variante", cle.variante());
+        // Sans les blancs qui entourent le fragment : l'indentation est celle du point d'insertion
+        return templateEngine.process(cle.template(), Set.of(cle.fragment()), context).strip();
+    }
+    
+    private record CleFragment(String template, String fragment, String variante) {
+    }
+}
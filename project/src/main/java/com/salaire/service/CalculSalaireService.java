@@ -1,32 +1,86 @@
 package com.salaire.service;
 
+import com.salaire.dto.CalculResume;
+import com.salaire.dto.PageCurseur;
+import com.salaire.dto.ResultatLigneLot;
 import com.salaire.entity.CalculSalaire;
 import com.salaire.entity.User;
+import com.salaire.repository.CalculSalaireBatchRepository;
 import com.salaire.repository.CalculSalaireRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service pour la gestion des calculs de salaire
+ * Chaque méthode publique est chronométrée (métrique salaire.service, étiquetée par méthode)
  */
 @Service
 @Transactional
+@Timed("salaire.service")
 public class CalculSalaireService {
     
     @Autowired
     private CalculSalaireRepository calculSalaireRepository;
     
+    @Autowired
+    private CalculSalaireBatchRepository calculSalaireBatchRepository;
+    
     @Autowired
     private SalaireCalculatorService calculatorService;
     
+    @Autowired
+    private CacheCalculService cacheCalculService;
+    
+    @Autowired
+    private StatistiquesUtilisateurService statistiquesService;
+    
+    @Autowired
+    private EtagService etagService;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Autowired
+    @Qualifier("calculExecutor")
+    private ThreadPoolTaskExecutor calculExecutor;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${salaire.suppression.taille-tranche:5000}")
+    private int tailleTrancheSuppression;
+    
     /**
      * Sauvegarde un nouveau calcul de salaire
      */
@@ -35,7 +89,42 @@ public class CalculSalaireService {
         calcul = calculatorService.calculerSalaireNet(calcul);
         
         // Sauvegarder en base
-        return calculSalaireRepository.save(calcul);
+        CalculSalaire resultat = calculSalaireRepository.save(calcul);
+        if (resultat.getUser() != null && resultat.getUser().getId() != null) {
+            statistiquesService.enregistrerAjouts(resultat.getUser().getId(), List.of(resultat));
+        }
+        return resultat;
+    }
+    
+    /**
+     * Calcule et sauvegarde une liste de calculs pour un utilisateur par insertions JDBC groupées
+     * (import en masse). Les calculs renvoyés portent leur identifiant mais ne sont pas gérés par JPA.
+     */
+    public List<CalculSalaire> sauvegarderCalculs(List<CalculSalaire> calculs, User user) {
+        for (CalculSalaire calcul : calculs) {
+            calcul.setUser(user);
+            calculatorService.calculerSalaireNet(calcul);
+        }
+        calculSalaireBatchRepository.insererTous(calculs);
+        statistiquesService.enregistrerAjouts(user.getId(), calculs);
+        return calculs;
+    }
+    
+    /**
+     * Enregistre par insertions JDBC groupées des calculs déjà effectués (écriture différée),
+     * puis met à jour les statistiques de chaque utilisateur concerné
+     */
+    public void enregistrerCalculsEffectues(List<CalculSalaire> calculs) {
+        calculSalaireBatchRepository.insererTous(calculs);
+        
+        // Ordre croissant des utilisateurs : verrous des statistiques toujours pris dans le même ordre
+        Map<Long, List<CalculSalaire>> parUtilisateur = new TreeMap<>();
+        for (CalculSalaire calcul : calculs) {
+            if (calcul.getUser() != null && calcul.getUser().getId() != null) {
+                parUtilisateur.computeIfAbsent(calcul.getUser().getId(), id -> new ArrayList<>()).add(calcul);
+            }
+        }
+        parUtilisateur.forEach(statistiquesService::enregistrerAjouts);
     }
     
     /**
@@ -46,6 +135,14 @@ public class CalculSalaireService {
         return calculSalaireRepository.findById(id);
     }
     
+    /**
+     * Trouve un calcul par son ID s'il appartient à l'utilisateur
+     */
+    @Transactional(readOnly = true)
+    public Optional<CalculSalaire> trouverParIdEtUtilisateur(Long id, Long userId) {
+        return calculSalaireRepository.findByIdAndUserId(id, userId);
+    }
+    
     /**
      * Trouve tous les calculs d'un utilisateur
      */
@@ -54,6 +151,20 @@ public class CalculSalaireService {
         return calculSalaireRepository.findByUserOrderByCreatedAtDesc(user);
     }
     
+    /**
+     * Parcourt tous les calculs d'un utilisateur sans les charger en mémoire :
+     * chaque calcul est détaché du contexte de persistance après avoir été consommé
+     */
+    @Transactional(readOnly = true)
+    public void parcourirCalculsUtilisateur(Long userId, Consumer<CalculSalaire> consommateur) {
+        try (Stream<CalculSalaire> calculs = calculSalaireRepository.streamByUserId(userId)) {
+            calculs.forEach(calcul -> {
+                consommateur.accept(calcul);
+                entityManager.detach(calcul);
+            });
+        }
+    }
+    
     /**
      * Trouve les calculs d'un utilisateur avec pagination
      */
@@ -63,6 +174,60 @@ public class CalculSalaireService {
         return calculSalaireRepository.findByUserOrderByCreatedAtDesc(user, pageable);
     }
     
+    /**
+     * Trouve une page de l'historique d'un utilisateur par curseur (date, id) :
+     * le coût ne dépend pas de la profondeur de la page et le total n'est compté que sur demande
+     *
+     * @param curseur curseur renvoyé par la page précédente, ou null pour la première page
+     * @throws IllegalArgumentException si le curseur est invalide
+     */
+    @Transactional(readOnly = true)
+    public PageCurseur<CalculSalaire> trouverCalculsUtilisateur(User user, String curseur, int taille, boolean avecTotal) {
+        // Un élément de plus pour savoir s'il existe une page suivante
+        Pageable pageable = PageRequest.of(0, taille + 1);
+        
+        List<CalculSalaire> calculs;
+        if (curseur == null || curseur.isBlank()) {
+            calculs = calculSalaireRepository.findPremierePageHistorique(user, pageable);
+        } else {
+            Curseur position = Curseur.decoder(curseur);
+            calculs = calculSalaireRepository.findPageHistoriqueApres(user, position.createdAt(), position.id(), pageable);
+        }
+        
+        String curseurSuivant = null;
+        if (calculs.size() > taille) {
+            calculs = calculs.subList(0, taille);
+            CalculSalaire dernier = calculs.get(taille - 1);
+            curseurSuivant = new Curseur(dernier.getCreatedAt(), dernier.getId()).encoder();
+        }
+        
+        Long total = avecTotal ? calculSalaireRepository.countByUser(user) : null;
+        return new PageCurseur<>(calculs, curseurSuivant, total);
+    }
+    
+    /**
+     * Position dans l'historique : (date de création, id) du dernier calcul renvoyé
+     */
+    private record Curseur(LocalDateTime createdAt, Long id) {
+        
+        String encoder() {
+            String position = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+        }
+        
+        static Curseur decoder(String curseur) {
+            try {
+                String[] position = new String(Base64.getUrlDecoder().decode(curseur), StandardCharsets.UTF_8).split("\\|");
+                if (position.length != 2) {
+                    throw new IllegalArgumentException("Curseur invalide");
+                }
+                return new Curseur(LocalDateTime.parse(position[0]), Long.valueOf(position[1]));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Curseur invalide", e);
+            }
+        }
+    }
+    
     /**
      * Trouve les derniers calculs d'un utilisateur
      */
@@ -72,6 +237,22 @@ public class CalculSalaireService {
         return calculSalaireRepository.findTopByUser(user, pageable);
     }
     
+    /**
+     * Trouve les résumés des derniers calculs d'un utilisateur (listes du tableau de bord)
+     */
+    @Transactional(readOnly = true)
+    public List<CalculResume> trouverDerniersResumes(Long userId, int limite) {
+        return calculSalaireRepository.findResumesByUserId(userId, PageRequest.of(0, limite));
+    }
+    
+    /**
+     * Trouve les résumés des calculs d'un utilisateur avec pagination (page d'historique)
+     */
+    @Transactional(readOnly = true)
+    public Page<CalculResume> trouverResumesUtilisateur(Long userId, int page, int size) {
+        return calculSalaireRepository.findPageResumesByUserId(userId, PageRequest.of(page, size));
+    }
+    
     /**
      * Compte le nombre de calculs d'un utilisateur
      */
@@ -84,15 +265,73 @@ public class CalculSalaireService {
      * Supprime un calcul
      */
     public void supprimerCalcul(Long id) {
-        calculSalaireRepository.deleteById(id);
+        calculSalaireRepository.findById(id).ifPresent(calcul -> {
+            calculSalaireRepository.delete(calcul);
+            etagService.oublierCalcul(calcul.getId());
+            if (calcul.getUser() != null) {
+                statistiquesService.enregistrerSuppression(calcul.getUser().getId(), new CalculResume(calcul.getId(),
+                    calcul.getCreatedAt(), calcul.getSalaireBrut(), calcul.getSalaireNetPayer(), calcul.getDescription()));
+            }
+        });
+    }
+    
+    /**
+     * Supprime un calcul s'il appartient à l'utilisateur
+     *
+     * @return false si le calcul n'existe pas ou appartient à un autre utilisateur
+     */
+    public boolean supprimerCalculUtilisateur(Long id, Long userId) {
+        // Les montants du calcul supprimé sont lus pour la mise à jour des statistiques
+        Optional<CalculResume> resume = calculSalaireRepository.findResumeByIdAndUserId(id, userId);
+        if (resume.isEmpty() || calculSalaireRepository.deleteByIdAndUserId(id, userId) == 0) {
+            return false;
+        }
+        etagService.oublierCalcul(id);
+        statistiquesService.enregistrerSuppression(userId, resume.get());
+        return true;
     }
     
     /**
      * Supprime tous les calculs d'un utilisateur
      */
-    public void supprimerTousCalculsUtilisateur(User user) {
-        List<CalculSalaire> calculs = calculSalaireRepository.findByUserOrderByCreatedAtDesc(user);
-        calculSalaireRepository.deleteAll(calculs);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long supprimerTousCalculsUtilisateur(User user) {
+        return supprimerTousCalculsUtilisateur(user.getId());
+    }
+    
+    /**
+     * Supprime tous les calculs d'un utilisateur par des DELETE ensemblistes, sans charger les entités.
+     * Les lignes sont supprimées par tranches d'identifiants croissants, chacune dans sa propre
+     * transaction, afin de ne pas verrouiller tout l'historique d'un gros compte le temps de l'opération.
+     *
+     * @return le nombre de calculs supprimés
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long supprimerTousCalculsUtilisateur(Long userId) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long total = 0;
+        if (tailleTrancheSuppression <= 0) {
+            Integer supprimes = transaction.execute(statut -> calculSalaireRepository.deleteByUserId(userId));
+            total = supprimes != null ? supprimes : 0;
+        } else {
+            Pageable tranche = PageRequest.of(tailleTrancheSuppression - 1, 1);
+            Integer supprimes;
+            do {
+                supprimes = transaction.execute(statut -> {
+                    // Borne haute de la tranche : n-ième identifiant restant, ou le dernier s'il en reste moins
+                    List<Long> borne = calculSalaireRepository.findIdsByUserId(userId, tranche);
+                    if (borne.isEmpty()) {
+                        return calculSalaireRepository.deleteByUserId(userId);
+                    }
+                    return calculSalaireRepository.deleteByUserIdJusqua(userId, borne.get(0));
+                });
+                total += supprimes != null ? supprimes : 0;
+            } while (supprimes != null && supprimes == tailleTrancheSuppression);
+        }
+        
+        etagService.oublierCalculsUtilisateur(userId);
+        statistiquesService.recalculer(userId);
+        return total;
     }
     
     /**
@@ -113,10 +352,71 @@ public class CalculSalaireService {
     }
     
     /**
-     * Effectue un nouveau calcul sans sauvegarde
+     * Effectue un nouveau calcul sans sauvegarde (résultat mis en cache pour des entrées identiques)
      */
     public CalculSalaire effectuerCalcul(CalculSalaire calcul) {
-        return calculatorService.calculerSalaireNet(calcul);
+        return cacheCalculService.calculer(calcul);
+    }
+    
+    /**
+     * Calcule le salaire brut nécessaire pour atteindre le net à payer visé (sans sauvegarde)
+     */
+    public CalculSalaire calculerSalaireBrut(CalculSalaire calcul) {
+        return calculatorService.calculerSalaireBrut(calcul);
+    }
+    
+    /**
+     * Effectue une série de calculs sans sauvegarde, répartis sur le pool de calcul.
+     * Les résultats sont renvoyés dans l'ordre des entrées ; une ligne en erreur
+     * n'interrompt pas le reste du lot.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<ResultatLigneLot> effectuerCalculsEnLot(List<CalculSalaire> calculs) {
+        int taille = calculs.size();
+        ResultatLigneLot[] resultats = new ResultatLigneLot[taille];
+        meterRegistry.summary("salaire.lot.taille").record(taille);
+        if (taille == 0) {
+            return List.of();
+        }
+        
+        // Quelques tranches par thread pour équilibrer la charge sans créer une tâche par ligne
+        int nombreTranches = Math.min(taille, calculExecutor.getMaxPoolSize() * 4);
+        int tailleTranche = (taille + nombreTranches - 1) / nombreTranches;
+        
+        List<CompletableFuture<Void>> taches = new ArrayList<>();
+        for (int debut = 0; debut < taille; debut += tailleTranche) {
+            int premier = debut;
+            int dernier = Math.min(debut + tailleTranche, taille);
+            taches.add(CompletableFuture.runAsync(
+                () -> calculerTranche(calculs, resultats, premier, dernier), calculExecutor));
+        }
+        CompletableFuture.allOf(taches.toArray(new CompletableFuture<?>[0])).join();
+        
+        return Arrays.asList(resultats);
+    }
+    
+    /**
+     * Calcule les lignes [debut, fin[ d'un lot
+     */
+    private void calculerTranche(List<CalculSalaire> calculs, ResultatLigneLot[] resultats, int debut, int fin) {
+        int echecs = 0;
+        for (int i = debut; i < fin; i++) {
+            CalculSalaire calcul = calculs.get(i);
+            if (calcul == null) {
+                resultats[i] = ResultatLigneLot.echec(i, "Ligne invalide");
+                echecs++;
+                continue;
+            }
+            try {
+                resultats[i] = ResultatLigneLot.succes(i, calculatorService.calculerSalaireNet(calcul));
+            } catch (Exception e) {
+                resultats[i] = ResultatLigneLot.echec(i, "Erreur lors du calcul : " + e.getMessage());
+                echecs++;
+            }
+        }
+        if (echecs > 0) {
+            meterRegistry.counter("salaire.lot.erreurs").increment(echecs);
+        }
     }
     
     /**
@@ -0,0 +1,235 @@
+package com.salaire.service;
+
+import com.salaire.entity.CalculSalaire;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sauvegarde des calculs avec écriture différée optionnelle (salaire.ecriture-differee.actif)
+ *
+ * En mode différé, le calcul est effectué puis placé dans une file bornée et le résultat est
+ * rendu aussitôt (sans identifiant) ; un thread d'écriture vide la file par lots, chacun dans
+ * une transaction. Lorsque la file reste pleine au-delà du délai d'attente, ou que l'écrivain
+ * est arrêté, la sauvegarde se fait de manière synchrone (contre-pression). À l'arrêt de
+ * l'application, la file est entièrement vidée avant la fermeture de la base.
+ */
+@Service
+public class EcritureDiffereeService implements SmartLifecycle {
+    
+    private static final Logger log = LoggerFactory.getLogger(EcritureDiffereeService.class);
+    
+    @Autowired
+    private CalculSalaireService calculSalaireService;
+    
+    private final boolean actif;
+    
+    private final int capacite;
+    
+    private final int tailleLot;
+    
+    private final Duration attenteMax;
+    
+    private final Duration delaiArret;
+    
+    private final BlockingQueue<CalculSalaire> file;
+    
+    private final AtomicLong soumis = new AtomicLong();
+    private final AtomicLong ecrits = new AtomicLong();
+    private final AtomicLong synchrones = new AtomicLong();
+    private final AtomicLong echecs = new AtomicLong();
+    private final AtomicLong lots = new AtomicLong();
+    
+    private final DistributionSummary taillesLots;
+    
+    private volatile boolean enCours;
+    
+    private Thread ecrivain;
+    
+    public EcritureDiffereeService(@Value("${salaire.ecriture-differee.actif:false}") boolean actif,
+                                   @Value("${salaire.ecriture-differee.capacite:10000}") int capacite,
+                                   @Value("${salaire.ecriture-differee.taille-lot:500}") int tailleLot,
+                                   @Value("${salaire.ecriture-differee.attente-max:50ms}") Duration attenteMax,
+                                   @Value("${salaire.ecriture-differee.delai-arret:30s}") Duration delaiArret,
+                                   MeterRegistry meterRegistry) {
+        this.actif = actif;
+        this.capacite = capacite;
+        this.tailleLot = tailleLot;
+        this.attenteMax = attenteMax;
+        this.delaiArret = delaiArret;
+        this.file = new ArrayBlockingQueue<>(Math.max(capacite, 1));
+        
+        Gauge.builder("salaire.ecriture.differee.profondeur", file, BlockingQueue::size)
+            .description("Calculs en attente d'écriture")
+            .register(meterRegistry);
+        compteur(meterRegistry, "soumis", soumis);
+        compteur(meterRegistry, "ecrits", ecrits);
+        compteur(meterRegistry, "synchrones", synchrones);
+        compteur(meterRegistry, "echecs", echecs);
+        this.taillesLots = DistributionSummary.builder("salaire.ecriture.differee.lot.taille")
+            .description("Calculs écrits par lot")
+            .register(meterRegistry);
+    }
+    
+    private static void compteur(MeterRegistry meterRegistry, String nom, AtomicLong valeur) {
+        FunctionCounter.builder("salaire.ecriture.differee." + nom, valeur, AtomicLong::get)
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Effectue et sauvegarde un calcul ; en mode différé, le calcul renvoyé
+     * n'a pas encore d'identifiant
+     */
+    public CalculSalaire sauvegarder(CalculSalaire calcul) {
+        if (!actif || !enCours) {
+            return calculSalaireService.sauvegarderCalcul(calcul);
+        }
+        
+        calculSalaireService.effectuerCalcul(calcul);
+        try {
+            if (file.offer(calcul, attenteMax.toNanos(), TimeUnit.NANOSECONDS)) {
+                // Déposé pendant l'arrêt, après le vidage final de la file : l'appelant reprend son
+                // calcul s'il y est encore (sinon l'écrivain ou l'arrêt l'a pris en charge)
+                if (!enCours && file.remove(calcul)) {
+                    synchrones.incrementAndGet();
+                    return calculSalaireService.sauvegarderCalcul(calcul);
+                }
+                soumis.incrementAndGet();
+                return calcul;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        
+        // File pleine : l'appelant écrit lui-même
+        synchrones.incrementAndGet();
+        return calculSalaireService.sauvegarderCalcul(calcul);
+    }
+    
+    /**
+     * Profondeur de la file et compteurs de l'écriture différée
+     */
+    public Map<String, Object> statistiques() {
+        Map<String, Object> statistiques = new LinkedHashMap<>();
+        statistiques.put("actif", actif);
+        statistiques.put("profondeur", file.size());
+        statistiques.put("capacite", capacite);
+        statistiques.put("soumis", soumis.get());
+        statistiques.put("ecrits", ecrits.get());
+        statistiques.put("synchrones", synchrones.get());
+        statistiques.put("echecs", echecs.get());
+        statistiques.put("lots", lots.get());
+        return statistiques;
+    }
+    
+    /**
+     * Nombre de calculs en attente d'écriture
+     */
+    public int getProfondeur() {
+        return file.size();
+    }
+    
+    @Override
+    public void start() {
+        if (!actif) {
+            return;
+        }
+        enCours = true;
+        ecrivain = new Thread(this::boucleEcriture, "ecriture-differee");
+        ecrivain.start();
+    }
+    
+    @Override
+    public void stop() {
+        if (ecrivain == null) {
+            return;
+        }
+        // Les nouvelles sauvegardes deviennent synchrones ; l'écrivain vide la file puis s'arrête
+        enCours = false;
+        try {
+            ecrivain.join(delaiArret.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (ecrivain.isAlive()) {
+            log.error("Écriture différée interrompue à l'arrêt : {} calcul(s) non sauvegardé(s)", file.size());
+        } else {
+            // Calculs déposés entre la dernière lecture de la file par l'écrivain et sa fin
+            viderFile();
+        }
+        ecrivain = null;
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return ecrivain != null;
+    }
+    
+    private void boucleEcriture() {
+        List<CalculSalaire> lot = new ArrayList<>(tailleLot);
+        while (enCours || !file.isEmpty()) {
+            try {
+                CalculSalaire premier = file.poll(100, TimeUnit.MILLISECONDS);
+                if (premier == null) {
+                    continue;
+                }
+                lot.add(premier);
+                file.drainTo(lot, tailleLot - 1);
+                ecrireLot(lot);
+            } catch (InterruptedException e) {
+                // Pas d'abandon de la file : seule la fin de enCours arrête la boucle
+                Thread.interrupted();
+            } finally {
+                lot.clear();
+            }
+        }
+    }
+    
+    private void viderFile() {
+        List<CalculSalaire> lot = new ArrayList<>(tailleLot);
+        while (file.drainTo(lot, tailleLot) > 0) {
+            ecrireLot(lot);
+            lot.clear();
+        }
+    }
+    
+    private void ecrireLot(List<CalculSalaire> lot) {
+        try {
+            calculSalaireService.enregistrerCalculsEffectues(lot);
+            ecrits.addAndGet(lot.size());
+            lots.incrementAndGet();
+            taillesLots.record(lot.size());
+        } catch (RuntimeException e) {
+            // Lot annulé : chaque calcul est réessayé seul pour isoler les lignes en erreur
+            log.warn("Échec de l'écriture d'un lot de {} calcul(s), nouvel essai ligne à ligne", lot.size(), e);
+            for (CalculSalaire calcul : lot) {
+                try {
+                    calcul.setId(null);
+                    calculSalaireService.enregistrerCalculsEffectues(List.of(calcul));
+                    ecrits.incrementAndGet();
+                } catch (RuntimeException erreur) {
+                    echecs.incrementAndGet();
+                    log.error("Calcul perdu par l'écriture différée (utilisateur {})",
+                        calcul.getUser() != null ? calcul.getUser().getId() : null, erreur);
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
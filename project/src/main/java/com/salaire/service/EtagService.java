@@ -0,0 +1,99 @@
+package com.salaire.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.salaire.entity.CalculSalaire;
+import com.salaire.repository.StatistiquesUtilisateurRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Validateurs HTTP (ETag) des calculs et de l'historique
+ *
+ * Un calcul sauvegardé ne change plus : son ETag fort est dérivé de son identifiant et de sa date
+ * de création. Les ETag servis sont mémorisés avec le propriétaire du calcul, de sorte qu'une
+ * requête conditionnelle est validée sans accès à la base ; la suppression d'un calcul l'oublie
+ * une fois la transaction validée. Sans entrée (redémarrage, autre instance, éviction), la
+ * validation se fait après lecture du calcul.
+ *
+ * L'historique d'un utilisateur reçoit un ETag faible dérivé de la date de dernière modification
+ * de ses statistiques, mise à jour à chaque ajout ou suppression de calcul.
+ */
+@Service
+public class EtagService {
+    
+    private final StatistiquesUtilisateurRepository statistiquesRepository;
+    
+    private final Cache<Long, EtagCalcul> etagsCalculs;
+    
+    public EtagService(StatistiquesUtilisateurRepository statistiquesRepository,
+                       @Value("${salaire.http.etags.taille-max:100000}") long tailleMax) {
+        this.statistiquesRepository = statistiquesRepository;
+        this.etagsCalculs = Caffeine.newBuilder()
+            .maximumSize(tailleMax)
+            .build();
+    }
+    
+    /**
+     * ETag fort d'un calcul sauvegardé, mémorisé pour les requêtes conditionnelles suivantes
+     */
+    public String memoriser(CalculSalaire calcul) {
+        String etag = "\"" + calcul.getId() + (calcul.getCreatedAt() != null ? "-" + calcul.getCreatedAt() : "") + "\"";
+        if (calcul.getUser() != null && calcul.getUser().getId() != null) {
+            etagsCalculs.put(calcul.getId(), new EtagCalcul(calcul.getUser().getId(), etag));
+        }
+        return etag;
+    }
+    
+    /**
+     * ETag déjà servi pour un calcul de l'utilisateur, sans accès à la base
+     */
+    public Optional<String> etagConnu(Long id, Long userId) {
+        EtagCalcul connu = etagsCalculs.getIfPresent(id);
+        return connu != null && connu.userId().equals(userId) ? Optional.of(connu.etag()) : Optional.empty();
+    }
+    
+    /**
+     * Oublie l'ETag d'un calcul supprimé (après validation de la transaction en cours)
+     */
+    public void oublierCalcul(Long id) {
+        apresValidation(() -> etagsCalculs.invalidate(id));
+    }
+    
+    /**
+     * Oublie les ETag de tous les calculs d'un utilisateur
+     */
+    public void oublierCalculsUtilisateur(Long userId) {
+        apresValidation(() -> etagsCalculs.asMap().values().removeIf(connu -> connu.userId().equals(userId)));
+    }
+    
+    /**
+     * ETag faible de l'historique d'un utilisateur, vide si ses statistiques n'existent pas encore
+     */
+    public Optional<String> etagHistorique(Long userId) {
+        Optional<LocalDateTime> derniereModification = statistiquesRepository.findDerniereModification(userId);
+        return derniereModification.map(date -> "W/\"" + userId + "-" + date + "\"");
+    }
+    
+    private static void apresValidation(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        // Une lecture concurrente avant la validation pourrait sinon mémoriser à nouveau le calcul supprimé
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+    
+    private record EtagCalcul(Long userId, String etag) {
+    }
+}
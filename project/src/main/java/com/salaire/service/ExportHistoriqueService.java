@@ -0,0 +1,178 @@
+package com.salaire.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.salaire.entity.CalculSalaire;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Service d'export de l'historique des calculs en CSV ou NDJSON
+ *
+ * Les lignes sont écrites au fil de la lecture en base et la sortie est vidée
+ * régulièrement : la mémoire utilisée ne dépend pas de la taille de l'historique.
+ */
+@Service
+public class ExportHistoriqueService {
+    
+    private static final int LIGNES_PAR_ENVOI = 500;
+    
+    private static final String[] COLONNES = {
+        "id", "createdAt", "description", "statutMarital", "nombreParts",
+        "salaireBrut", "primes", "indemnites", "avantagesNature", "heuresSupplementaires",
+        "cotisationsSecu", "cotisationsChomage", "cotisationsRetraite", "cotisationsCsgCrds",
+        "totalCotisations", "salaireNetImposable", "impotRevenu", "salaireNetPayer",
+        "tauxPrelevement", "versionBareme"
+    };
+    
+    @Autowired
+    private CalculSalaireService calculSalaireService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+        
+        private final String typeContenu;
+        private final String extension;
+        
+        Format(String typeContenu, String extension) {
+            this.typeContenu = typeContenu;
+            this.extension = extension;
+        }
+        
+        public String getTypeContenu() { return typeContenu; }
+        
+        public String getExtension() { return extension; }
+    }
+    
+    /**
+     * Écrit l'historique complet d'un utilisateur dans le flux de sortie
+     */
+    public void exporter(Long userId, Format format, OutputStream sortie) throws IOException {
+        try {
+            if (format == Format.CSV) {
+                exporterCsv(userId, sortie);
+            } else {
+                exporterNdjson(userId, sortie);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+    
+    private void exporterCsv(Long userId, OutputStream sortie) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(sortie, StandardCharsets.UTF_8));
+        writer.write(String.join(",", COLONNES));
+        writer.write("\r\n");
+        
+        int[] lignes = {0};
+        calculSalaireService.parcourirCalculsUtilisateur(userId, calcul -> {
+            try {
+                writer.write(ligneCsv(calcul));
+                if (++lignes[0] % LIGNES_PAR_ENVOI == 0) {
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+    
+    private void exporterNdjson(Long userId, OutputStream sortie) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(sortie, JsonEncoding.UTF8);
+        generator.setRootValueSeparator(null);
+        
+        int[] lignes = {0};
+        calculSalaireService.parcourirCalculsUtilisateur(userId, calcul -> {
+            try {
+                ecrireJson(generator, calcul);
+                generator.writeRaw('\n');
+                if (++lignes[0] % LIGNES_PAR_ENVOI == 0) {
+                    generator.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        generator.flush();
+    }
+    
+    private String ligneCsv(CalculSalaire calcul) {
+        StringBuilder ligne = new StringBuilder(256);
+        ligne.append(calcul.getId()).append(',')
+            .append(calcul.getCreatedAt() != null ? calcul.getCreatedAt() : "").append(',')
+            .append(echapperCsv(calcul.getDescription())).append(',')
+            .append(calcul.getStatutMarital() != null ? calcul.getStatutMarital().name() : "").append(',')
+            .append(montant(calcul.getNombreParts())).append(',')
+            .append(montant(calcul.getSalaireBrut())).append(',')
+            .append(montant(calcul.getPrimes())).append(',')
+            .append(montant(calcul.getIndemnites())).append(',')
+            .append(montant(calcul.getAvantagesNature())).append(',')
+            .append(montant(calcul.getHeuresSupplementaires())).append(',')
+            .append(montant(calcul.getCotisationsSecu())).append(',')
+            .append(montant(calcul.getCotisationsChomage())).append(',')
+            .append(montant(calcul.getCotisationsRetraite())).append(',')
+            .append(montant(calcul.getCotisationsCsgCrds())).append(',')
+            .append(montant(calcul.getTotalCotisations())).append(',')
+            .append(montant(calcul.getSalaireNetImposable())).append(',')
+            .append(montant(calcul.getImpotRevenu())).append(',')
+            .append(montant(calcul.getSalaireNetPayer())).append(',')
+            .append(montant(calcul.getTauxPrelevement())).append(',')
+            .append(echapperCsv(calcul.getVersionBareme()))
+            .append("\r\n");
+        return ligne.toString();
+    }
+    
+    private void ecrireJson(JsonGenerator generator, CalculSalaire calcul) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", calcul.getId());
+        generator.writeStringField("createdAt", calcul.getCreatedAt() != null ? calcul.getCreatedAt().toString() : null);
+        generator.writeStringField("description", calcul.getDescription());
+        generator.writeStringField("statutMarital", calcul.getStatutMarital() != null ? calcul.getStatutMarital().name() : null);
+        generator.writeNumberField("nombreParts", calcul.getNombreParts());
+        generator.writeNumberField("salaireBrut", calcul.getSalaireBrut());
+        generator.writeNumberField("primes", calcul.getPrimes());
+        generator.writeNumberField("indemnites", calcul.getIndemnites());
+        generator.writeNumberField("avantagesNature", calcul.getAvantagesNature());
+        generator.writeNumberField("heuresSupplementaires", calcul.getHeuresSupplementaires());
+        generator.writeNumberField("cotisationsSecu", calcul.getCotisationsSecu());
+        generator.writeNumberField("cotisationsChomage", calcul.getCotisationsChomage());
+        generator.writeNumberField("cotisationsRetraite", calcul.getCotisationsRetraite());
+        generator.writeNumberField("cotisationsCsgCrds", calcul.getCotisationsCsgCrds());
+        generator.writeNumberField("totalCotisations", calcul.getTotalCotisations());
+        generator.writeNumberField("salaireNetImposable", calcul.getSalaireNetImposable());
+        generator.writeNumberField("impotRevenu", calcul.getImpotRevenu());
+        generator.writeNumberField("salaireNetPayer", calcul.getSalaireNetPayer());
+        generator.writeNumberField("tauxPrelevement", calcul.getTauxPrelevement());
+        generator.writeStringField("versionBareme", calcul.getVersionBareme());
+        generator.writeEndObject();
+    }
+    
+    private static String montant(BigDecimal montant) {
+        return montant != null ? montant.toPlainString() : "";
+    }
+    
+    private static String echapperCsv(String valeur) {
+        if (valeur == null) {
+            return "";
+        }
+        if (valeur.indexOf(',') < 0 && valeur.indexOf('"') < 0 && valeur.indexOf('\n') < 0 && valeur.indexOf('\r') < 0) {
+            return valeur;
+        }
+        return '"' + valeur.replace("\"", "\"\"") + '"';
+    }
+}
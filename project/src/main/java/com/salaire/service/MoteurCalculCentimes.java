@@ -0,0 +1,148 @@
+package com.salaire.service;
+
+import com.salaire.bareme.BaremeCentimes;
+import com.salaire.entity.CalculSalaire;
+
+import java.math.BigDecimal;
+
+/**
+ * Moteur de calcul du salaire net en centimes (arithmétique entière sur des long)
+ *
+ * Les montants sont manipulés en centimes et les taux en dix-millièmes ({@link BaremeCentimes}), ce qui permet
+ * de calculer chaque valeur exacte sous forme de fraction entière puis de l'arrondir
+ * au centime (HALF_UP) exactement comme le fait le calcul en BigDecimal.
+ * Les résultats sont donc identiques, échelle comprise, à ceux de
+ * {@link SalaireCalculatorService} ; seules les valeurs finales sont allouées.
+ *
+ * Lorsqu'une entrée n'est pas exprimable en centimes (plus de 2 décimales, nombre de parts
+ * au-delà du dixième) ou qu'un produit dépasse la capacité d'un long, {@link #calculer}
+ * renvoie false et l'appelant doit se rabattre sur le calcul en BigDecimal.
+ */
+final class MoteurCalculCentimes {
+
+    private static final long UNITE_TAUX = BaremeCentimes.UNITE_TAUX;
+
+    private MoteurCalculCentimes() {
+    }
+
+    /**
+     * Effectue le calcul et renseigne les résultats sur l'entité
+     *
+     * @return false si les entrées ne sont pas éligibles au calcul en centimes
+     *         (l'entité n'est alors pas modifiée)
+     */
+    static boolean calculer(CalculSalaire calcul, BaremeCentimes bareme) {
+        if (calcul.getSalaireBrut() == null || calcul.getNombreParts() == null
+                || calcul.getNombreParts().scale() > 1) {
+            return false;
+        }
+
+        try {
+            // 1. Salaire brut total
+            long brut = centimes(calcul.getSalaireBrut());
+            brut = Math.addExact(brut, centimes(calcul.getPrimes()));
+            brut = Math.addExact(brut, centimes(calcul.getIndemnites()));
+            brut = Math.addExact(brut, centimes(calcul.getAvantagesNature()));
+            brut = Math.addExact(brut, centimes(calcul.getHeuresSupplementaires()));
+            long parts = calcul.getNombreParts().setScale(1).unscaledValue().longValueExact();
+
+            // 2. Cotisations sociales (numérateurs en centimes x 10^-4, ou x 10^-8 pour la CSG/CRDS)
+            long assiettePlafonnee = Math.min(brut, bareme.getPlafondChomage());
+            long secu = Math.multiplyExact(brut, bareme.getTauxSecuMaladie());
+            long chomage = Math.multiplyExact(assiettePlafonnee, bareme.getTauxChomage());
+            long retraite = Math.addExact(
+                Math.multiplyExact(assiettePlafonnee, bareme.getTauxRetraiteBase()),
+                Math.multiplyExact(brut, bareme.getTauxRetraiteComplementaire()));
+            long assietteCsgCrds = Math.multiplyExact(brut, bareme.getAbattementCsgCrds());
+            long csgCrds = Math.multiplyExact(assietteCsgCrds,
+                bareme.getTauxCsgDeductible() + bareme.getTauxCsgNonDeductible() + bareme.getTauxCrds());
+            long total = Math.addExact(
+                Math.multiplyExact(Math.addExact(Math.addExact(secu, chomage), retraite), UNITE_TAUX),
+                Math.multiplyExact(assietteCsgCrds, bareme.getTauxCsgDeductible() + bareme.getTauxCrds()));
+            long totalCotisations = arrondir(total, UNITE_TAUX * UNITE_TAUX);
+
+            // 3. Salaire net imposable
+            long netImposable = Math.subtractExact(brut, totalCotisations);
+
+            // 4. Impôt sur le revenu (-1 lorsque l'impôt est nul sans arrondi)
+            long impot = calculerImpotRevenu(netImposable, parts, bareme);
+            long impotArrondi = Math.max(impot, 0);
+
+            // 5. Taux de prélèvement global, au dix-millième puis multiplié par 100
+            long tauxPrelevement = 0;
+            if (brut > 0) {
+                long prelevements = Math.addExact(totalCotisations, impotArrondi);
+                tauxPrelevement = Math.multiplyExact(arrondir(Math.multiplyExact(prelevements, UNITE_TAUX), brut), 100);
+            }
+
+            calcul.setCotisationsSecu(BigDecimal.valueOf(arrondir(secu, UNITE_TAUX), 2));
+            calcul.setCotisationsChomage(BigDecimal.valueOf(arrondir(chomage, UNITE_TAUX), 2));
+            calcul.setCotisationsRetraite(BigDecimal.valueOf(arrondir(retraite, UNITE_TAUX), 2));
+            calcul.setCotisationsCsgCrds(BigDecimal.valueOf(arrondir(csgCrds, UNITE_TAUX * UNITE_TAUX), 2));
+            calcul.setTotalCotisations(BigDecimal.valueOf(totalCotisations, 2));
+            calcul.setSalaireNetImposable(BigDecimal.valueOf(netImposable, 2));
+            calcul.setImpotRevenu(impot < 0 ? BigDecimal.ZERO : BigDecimal.valueOf(impot, 2));
+            calcul.setSalaireNetPayer(BigDecimal.valueOf(netImposable - impotArrondi, 2));
+            if (brut > 0) {
+                calcul.setTauxPrelevement(BigDecimal.valueOf(tauxPrelevement, BaremeCentimes.ECHELLE_TAUX));
+            }
+            return true;
+
+        } catch (ArithmeticException e) {
+            // Entrée hors de la plage exacte des long : calcul en BigDecimal
+            return false;
+        }
+    }
+
+    /**
+     * Calcule l'impôt mensuel en centimes selon le barème progressif
+     * (impôt cumulé au seuil de la tranche du quotient, puis part au-delà du seuil)
+     *
+     * @return -1 lorsque l'impôt est nul sans arrondi (BigDecimal.ZERO dans le calcul de référence)
+     */
+    private static long calculerImpotRevenu(long revenuImposable, long parts, BaremeCentimes bareme) {
+        if (revenuImposable <= 0 || parts <= 0) {
+            return -1;
+        }
+
+        // Quotient familial au centime : (revenu / 100) / (parts / 10) euros
+        long quotientFamilial = arrondir(Math.multiplyExact(revenuImposable, 10), parts);
+        int tranche = bareme.indiceTranche(quotientFamilial);
+        if (tranche < 0) {
+            return -1;
+        }
+
+        long impot = Math.addExact(bareme.getImpotCumule(tranche),
+            Math.multiplyExact(quotientFamilial - bareme.getSeuilTranche(tranche), bareme.getTauxTranche(tranche)));
+
+        // impot x parts est exprimé en centimes x 10^-5 (taux en dix-millièmes, parts en dixièmes)
+        return arrondir(Math.multiplyExact(impot, parts), UNITE_TAUX * 10);
+    }
+
+    /**
+     * Convertit un montant optionnel en centimes
+     *
+     * @throws ArithmeticException si le montant a plus de 2 décimales ou dépasse un long
+     */
+    private static long centimes(BigDecimal montant) {
+        if (montant == null) {
+            return 0;
+        }
+        if (montant.scale() > 2) {
+            throw new ArithmeticException("Montant non exprimable en centimes");
+        }
+        return montant.setScale(2).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Division entière arrondie au plus proche, les demis s'éloignant de zéro (RoundingMode.HALF_UP)
+     */
+    private static long arrondir(long numerateur, long diviseur) {
+        long quotient = numerateur / diviseur;
+        long reste = numerateur % diviseur;
+        if (Math.abs(reste) >= diviseur - Math.abs(reste)) {
+            quotient += Long.signum(numerateur);
+        }
+        return quotient;
+    }
+}
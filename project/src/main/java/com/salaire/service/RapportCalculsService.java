@@ -0,0 +1,81 @@
+package com.salaire.service;
+
+import com.salaire.dto.AgregatPeriode;
+import com.salaire.dto.LigneAgregatJour;
+import com.salaire.entity.CalculSalaire.StatutMarital;
+import com.salaire.repository.CalculSalaireRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rapports agrégés sur l'ensemble des calculs (administrateurs)
+ *
+ * Le regroupement est fait en base (GROUP BY sur le jour ou le mois et la situation
+ * familiale, via l'index couvrant idx_calculs_created_rapport) : seules les lignes
+ * d'agrégat, au plus quelques milliers par an, sont lues. Les semaines ISO sont obtenues
+ * en cumulant les agrégats journaliers, les sommes et nombres se combinant exactement.
+ */
+@Service
+@Transactional(readOnly = true)
+public class RapportCalculsService {
+    
+    /**
+     * Découpage temporel des rapports
+     */
+    public enum Granularite {
+        JOUR, SEMAINE, MOIS
+    }
+    
+    private static final Comparator<AgregatPeriode> ORDRE = Comparator
+        .comparing(AgregatPeriode::getDebutPeriode)
+        .thenComparing(AgregatPeriode::getStatutMarital, Comparator.nullsFirst(Comparator.naturalOrder()));
+    
+    @Autowired
+    private CalculSalaireRepository calculSalaireRepository;
+    
+    /**
+     * Agrège les calculs créés entre deux dates incluses
+     *
+     * @param parStatut true pour une ligne par situation familiale, false pour toutes confondues
+     */
+    public List<AgregatPeriode> agreger(LocalDate debut, LocalDate fin, Granularite granularite, boolean parStatut) {
+        if (fin.isBefore(debut)) {
+            throw new IllegalArgumentException("La date de fin précède la date de début");
+        }
+        
+        List<LigneAgregatJour> lignes = granularite == Granularite.MOIS
+            ? calculSalaireRepository.agregerParMois(debut.atStartOfDay(), fin.plusDays(1).atStartOfDay())
+            : calculSalaireRepository.agregerParJour(debut.atStartOfDay(), fin.plusDays(1).atStartOfDay());
+        
+        Map<Cle, AgregatPeriode> agregats = new LinkedHashMap<>();
+        for (LigneAgregatJour ligne : lignes) {
+            Cle cle = new Cle(debutPeriode(ligne.getDate(), granularite), parStatut ? ligne.getStatutMarital() : null);
+            agregats.computeIfAbsent(cle, c -> new AgregatPeriode(c.periode(), c.statut())).ajouter(ligne);
+        }
+        
+        List<AgregatPeriode> resultat = new ArrayList<>(agregats.values());
+        resultat.sort(ORDRE);
+        return resultat;
+    }
+    
+    private record Cle(LocalDate periode, StatutMarital statut) {
+    }
+    
+    private static LocalDate debutPeriode(LocalDate date, Granularite granularite) {
+        return switch (granularite) {
+            case JOUR -> date;
+            case SEMAINE -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MOIS -> date.withDayOfMonth(1);
+        };
+    }
+}
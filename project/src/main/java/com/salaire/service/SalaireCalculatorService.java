@@ -1,58 +1,109 @@
 package com.salaire.service;
 
+import com.salaire.bareme.Bareme;
 import com.salaire.entity.CalculSalaire;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service pour le calcul du salaire net
- * Implémente les règles de calcul françaises pour 2025
+ * Implémente les règles de calcul françaises, selon le barème en vigueur à la date du calcul
  */
 @Service
 public class SalaireCalculatorService {
     
-    // Taux de cotisations sociales 2025 (salarié)
-    private static final BigDecimal TAUX_SECU_MALADIE = BigDecimal.valueOf(0.0075); // 0.75%
-    private static final BigDecimal TAUX_CHOMAGE = BigDecimal.valueOf(0.024); // 2.4%
-    private static final BigDecimal TAUX_RETRAITE_BASE = BigDecimal.valueOf(0.0690); // 6.90%
-    private static final BigDecimal TAUX_RETRAITE_COMPLEMENTAIRE = BigDecimal.valueOf(0.0387); // 3.87%
-    private static final BigDecimal TAUX_CSG_DEDUCTIBLE = BigDecimal.valueOf(0.068); // 6.8%
-    private static final BigDecimal TAUX_CSG_NON_DEDUCTIBLE = BigDecimal.valueOf(0.024); // 2.4%
-    private static final BigDecimal TAUX_CRDS = BigDecimal.valueOf(0.005); // 0.5%
-    
-    // Plafonds et seuils 2025
-    private static final BigDecimal PLAFOND_SECU_MENSUEL = BigDecimal.valueOf(3864.0); // Plafond sécurité sociale mensuel
-    private static final BigDecimal SEUIL_CSG_CRDS = BigDecimal.valueOf(1.05); // 105% du SMIC
-    
-    // Barème impôt sur le revenu 2025 (mensuel)
-    private static final BigDecimal SEUIL_TRANCHE_1 = BigDecimal.valueOf(916.67); // 11 000 / 12
-    private static final BigDecimal SEUIL_TRANCHE_2 = BigDecimal.valueOf(2291.67); // 27 500 / 12
-    private static final BigDecimal SEUIL_TRANCHE_3 = BigDecimal.valueOf(6458.33); // 77 500 / 12
-    private static final BigDecimal SEUIL_TRANCHE_4 = BigDecimal.valueOf(14166.67); // 170 000 / 12
-    
-    private static final BigDecimal TAUX_TRANCHE_1 = BigDecimal.valueOf(0.11); // 11%
-    private static final BigDecimal TAUX_TRANCHE_2 = BigDecimal.valueOf(0.30); // 30%
-    private static final BigDecimal TAUX_TRANCHE_3 = BigDecimal.valueOf(0.41); // 41%
-    private static final BigDecimal TAUX_TRANCHE_4 = BigDecimal.valueOf(0.45); // 45%
+    // Calcul inverse (brut à partir du net) : borne de recherche et nombre de pas de Newton
+    private static final long BRUT_MAX_CENTIMES = 1_000_000_000L;
+    private static final int ITERATIONS_NEWTON = 8;
+    
+    private final BaremeService baremeService;
+    
+    private final boolean moteurCentimes;
+    
+    // Durée des calculs demandés par les appelants (les évaluations internes du calcul inverse ne sont pas comptées)
+    private final Timer dureeCalculNet;
+    private final Timer dureeCalculBrut;
+    
+    /**
+     * @param moteur "decimal" (calcul en BigDecimal) ou "centimes" (calcul entier sur des long,
+     *               aux résultats identiques, qui évite les objets intermédiaires)
+     */
+    public SalaireCalculatorService(BaremeService baremeService,
+                                    @Value("${salaire.calcul.moteur:decimal}") String moteur,
+                                    MeterRegistry meterRegistry) {
+        this.baremeService = baremeService;
+        if ("centimes".equalsIgnoreCase(moteur)) {
+            this.moteurCentimes = true;
+        } else if ("decimal".equalsIgnoreCase(moteur)) {
+            this.moteurCentimes = false;
+        } else {
+            throw new IllegalArgumentException("Moteur de calcul inconnu : " + moteur);
+        }
+        this.dureeCalculNet = minuteur(meterRegistry, "net");
+        this.dureeCalculBrut = minuteur(meterRegistry, "brut");
+    }
+    
+    private Timer minuteur(MeterRegistry meterRegistry, String sens) {
+        return Timer.builder("salaire.calcul")
+            .description("Durée d'un calcul de salaire")
+            .tag("sens", sens)
+            .tag("moteur", moteurCentimes ? "centimes" : "decimal")
+            .register(meterRegistry);
+    }
     
     /**
-     * Calcule le salaire net à partir des données d'entrée
+     * Calcule le salaire net à partir des données d'entrée,
+     * avec le barème en vigueur à la date du calcul
      */
     public CalculSalaire calculerSalaireNet(CalculSalaire calcul) {
+        LocalDate dateCalcul = calcul.getCreatedAt() != null ? calcul.getCreatedAt().toLocalDate() : LocalDate.now();
+        return calculerSalaireNet(calcul, baremeService.baremePour(dateCalcul));
+    }
+    
+    /**
+     * Calcule le salaire net avec un barème donné
+     */
+    public CalculSalaire calculerSalaireNet(CalculSalaire calcul, Bareme bareme) {
+        long debut = System.nanoTime();
+        try {
+            return calculer(calcul, bareme);
+        } finally {
+            dureeCalculNet.record(System.nanoTime() - debut, TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    private CalculSalaire calculer(CalculSalaire calcul, Bareme bareme) {
+        calcul.setVersionBareme(bareme.getVersion());
+        if (moteurCentimes && bareme.getCentimes() != null
+                && MoteurCalculCentimes.calculer(calcul, bareme.getCentimes())) {
+            return calcul;
+        }
+        return calculerSalaireNetDecimal(calcul, bareme);
+    }
+    
+    /**
+     * Calcule le salaire net en BigDecimal (calcul de référence)
+     */
+    CalculSalaire calculerSalaireNetDecimal(CalculSalaire calcul, Bareme bareme) {
         // 1. Calcul du salaire brut total
         BigDecimal salaireBrutTotal = calcul.getSalaireBrutTotal();
         
         // 2. Calcul des cotisations sociales
-        calculerCotisationsSociales(calcul, salaireBrutTotal);
+        calculerCotisationsSociales(calcul, salaireBrutTotal, bareme);
         
         // 3. Calcul du salaire net imposable
         BigDecimal salaireNetImposable = salaireBrutTotal.subtract(calcul.getTotalCotisations());
         calcul.setSalaireNetImposable(salaireNetImposable);
         
         // 4. Calcul de l'impôt sur le revenu
-        BigDecimal impotRevenu = calculerImpotRevenu(salaireNetImposable, calcul.getNombreParts());
+        BigDecimal impotRevenu = calculerImpotRevenu(salaireNetImposable, calcul.getNombreParts(), bareme);
         calcul.setImpotRevenu(impotRevenu);
         
         // 5. Calcul du salaire net à payer
@@ -71,30 +122,192 @@ public class SalaireCalculatorService {
         return calcul;
     }
     
+    /**
+     * Calcule le salaire brut de base nécessaire pour obtenir le net à payer renseigné sur le calcul,
+     * avec le barème en vigueur à la date du calcul
+     */
+    public CalculSalaire calculerSalaireBrut(CalculSalaire calcul) {
+        LocalDate dateCalcul = calcul.getCreatedAt() != null ? calcul.getCreatedAt().toLocalDate() : LocalDate.now();
+        return calculerSalaireBrut(calcul, baremeService.baremePour(dateCalcul));
+    }
+    
+    /**
+     * Calcule le plus petit salaire brut de base (au centime) dont le net à payer atteint
+     * le net renseigné sur le calcul, les autres éléments de rémunération étant fixés.
+     * Le calcul est ensuite complété avec ce brut ; son net à payer est égal à l'objectif,
+     * le net ne pouvant croître de plus d'un centime par centime de brut.
+     *
+     * Le net est affine par morceaux en fonction du brut : quelques pas de Newton, à la pente
+     * donnée par le taux marginal, arrivent à quelques centimes de la solution, qu'une
+     * dichotomie sur les centimes encadre. Le net n'étant croissant qu'aux arrondis de l'impôt
+     * près, les quelques centimes sous le résultat de la dichotomie sont ensuite parcourus pour
+     * trouver le plus petit brut qui atteint l'objectif.
+     *
+     * @throws IllegalArgumentException si l'objectif est absent, déjà dépassé sans salaire
+     *                                  de base ou hors d'atteinte
+     */
+    public CalculSalaire calculerSalaireBrut(CalculSalaire calcul, Bareme bareme) {
+        long debut = System.nanoTime();
+        try {
+            return rechercherSalaireBrut(calcul, bareme);
+        } finally {
+            dureeCalculBrut.record(System.nanoTime() - debut, TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    private CalculSalaire rechercherSalaireBrut(CalculSalaire calcul, Bareme bareme) {
+        BigDecimal cible = calcul.getSalaireNetPayer();
+        if (cible == null || cible.signum() <= 0) {
+            throw new IllegalArgumentException("Le salaire net à payer visé doit être strictement positif");
+        }
+        
+        // 1. Pas de Newton : le net étant au plus égal au brut total, on part de net visé - autres éléments
+        long autres = calcul.getSalaireBrutTotal().subtract(valeur(calcul.getSalaireBrut()))
+            .movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+        long brut = cible.movePointRight(2).setScale(0, RoundingMode.CEILING).longValueExact() - autres;
+        brut = Math.min(Math.max(brut, 0), BRUT_MAX_CENTIMES);
+        for (int i = 0; i < ITERATIONS_NEWTON; i++) {
+            CalculSalaire essai = evaluer(calcul, brut, bareme);
+            BigDecimal ecart = cible.subtract(essai.getSalaireNetPayer());
+            if (ecart.signum() == 0) {
+                break;
+            }
+            BigDecimal pente = BigDecimal.ONE.subtract(calculerTauxMarginal(essai, bareme).movePointLeft(2));
+            if (pente.signum() <= 0) {
+                break;
+            }
+            long suivant = brut + ecart.movePointRight(2).divide(pente, 0, RoundingMode.CEILING).longValueExact();
+            suivant = Math.min(Math.max(suivant, 0), BRUT_MAX_CENTIMES);
+            if (suivant == brut) {
+                break;
+            }
+            brut = suivant;
+        }
+        
+        // 2. Encadrement (bas < cible <= haut) par pas doublés autour du point obtenu
+        long bas;
+        long haut;
+        if (atteint(calcul, brut, cible, bareme)) {
+            haut = brut;
+            long pas = 1;
+            bas = Math.max(haut - pas, 0);
+            while (bas > 0 && atteint(calcul, bas, cible, bareme)) {
+                haut = bas;
+                pas *= 2;
+                bas = Math.max(haut - pas, 0);
+            }
+            if (bas == 0 && atteint(calcul, 0, cible, bareme)) {
+                throw new IllegalArgumentException("Le net visé est atteint sans salaire de base");
+            }
+        } else {
+            bas = brut;
+            long pas = 1;
+            haut = Math.min(bas + pas, BRUT_MAX_CENTIMES);
+            while (!atteint(calcul, haut, cible, bareme)) {
+                if (haut == BRUT_MAX_CENTIMES) {
+                    throw new IllegalArgumentException("Le net visé est hors d'atteinte");
+                }
+                bas = haut;
+                pas *= 2;
+                haut = Math.min(bas + pas, BRUT_MAX_CENTIMES);
+            }
+        }
+        
+        // 3. Dichotomie : le net à payer croît avec le brut, aux arrondis de l'impôt près
+        while (haut - bas > 1) {
+            long milieu = bas + (haut - bas) / 2;
+            if (atteint(calcul, milieu, cible, bareme)) {
+                haut = milieu;
+            } else {
+                bas = milieu;
+            }
+        }
+        
+        // 4. Sous le premier brut manquant l'objectif, un brut plus petit peut encore l'atteindre
+        long limite = Math.max(bas - ecartNonMonotonie(calcul.getNombreParts(), bareme), 0);
+        for (long essai = bas - 1; essai >= limite; essai--) {
+            if (atteint(calcul, essai, cible, bareme)) {
+                haut = essai;
+            }
+        }
+        
+        calcul.setSalaireBrut(BigDecimal.valueOf(haut, 2));
+        return calculer(calcul, bareme);
+    }
+    
+    /**
+     * Écart maximal, en centimes de brut, entre un brut qui manque l'objectif et un brut inférieur
+     * qui l'atteint
+     *
+     * L'impôt est calculé sur le quotient familial arrondi au centime puis multiplié par le nombre
+     * de parts : un centime de quotient en plus ajoute jusqu'à (parts x taux maximal) centimes d'impôt,
+     * alors que le net imposable n'a crû que d'un centime. L'impôt croît donc d'au plus
+     * taux x ΔNI + parts x taux + 1 centimes quand le net imposable croît de ΔNI : le net à payer ne
+     * peut redescendre au niveau d'un brut inférieur que si ΔNI < (parts x taux + 1) / (1 - taux),
+     * et le net imposable croît d'au moins (1 - taux de cotisations) x Δbrut - 1 centimes.
+     */
+    private static long ecartNonMonotonie(BigDecimal nombreParts, Bareme bareme) {
+        double tauxImpot = 0;
+        for (int i = 0; i < bareme.getNombreTranches(); i++) {
+            tauxImpot = Math.max(tauxImpot, bareme.getTauxTranche(i).doubleValue());
+        }
+        double tauxCotisations = bareme.getTauxSecuMaladie()
+            .add(bareme.getTauxChomage())
+            .add(bareme.getTauxRetraiteBase())
+            .add(bareme.getTauxRetraiteComplementaire())
+            .add(bareme.getAbattementCsgCrds().multiply(bareme.getTauxCsgDeductible().add(bareme.getTauxCrds())))
+            .doubleValue();
+        double parts = nombreParts != null ? Math.max(nombreParts.doubleValue(), 0) : 0;
+        double ecartNetImposable = (parts * tauxImpot + 1) / (1 - tauxImpot);
+        return (long) Math.ceil((ecartNetImposable + 1) / (1 - tauxCotisations));
+    }
+    
+    private boolean atteint(CalculSalaire modele, long brutCentimes, BigDecimal cible, Bareme bareme) {
+        return evaluer(modele, brutCentimes, bareme).getSalaireNetPayer().compareTo(cible) >= 0;
+    }
+    
+    /**
+     * Calcule le net pour un salaire brut de base donné, les autres entrées étant celles du modèle
+     */
+    private CalculSalaire evaluer(CalculSalaire modele, long brutCentimes, Bareme bareme) {
+        CalculSalaire essai = new CalculSalaire();
+        essai.setSalaireBrut(BigDecimal.valueOf(brutCentimes, 2));
+        essai.setPrimes(modele.getPrimes());
+        essai.setIndemnites(modele.getIndemnites());
+        essai.setAvantagesNature(modele.getAvantagesNature());
+        essai.setHeuresSupplementaires(modele.getHeuresSupplementaires());
+        essai.setNombreParts(modele.getNombreParts());
+        return calculer(essai, bareme);
+    }
+    
+    private static BigDecimal valeur(BigDecimal montant) {
+        return montant != null ? montant : BigDecimal.ZERO;
+    }
+    
     /**
      * Calcule les cotisations sociales
      */
-    private void calculerCotisationsSociales(CalculSalaire calcul, BigDecimal salaireBrutTotal) {
+    private void calculerCotisationsSociales(CalculSalaire calcul, BigDecimal salaireBrutTotal, Bareme bareme) {
         // Cotisations sécurité sociale (maladie)
-        BigDecimal cotisationsSecu = salaireBrutTotal.multiply(TAUX_SECU_MALADIE);
+        BigDecimal cotisationsSecu = salaireBrutTotal.multiply(bareme.getTauxSecuMaladie());
         calcul.setCotisationsSecu(arrondir(cotisationsSecu));
         
         // Cotisations chômage (limitées au plafond)
-        BigDecimal assiettePlafonnee = salaireBrutTotal.min(PLAFOND_SECU_MENSUEL.multiply(BigDecimal.valueOf(4)));
-        BigDecimal cotisationsChomage = assiettePlafonnee.multiply(TAUX_CHOMAGE);
+        BigDecimal assiettePlafonnee = salaireBrutTotal.min(bareme.getPlafondChomage());
+        BigDecimal cotisationsChomage = assiettePlafonnee.multiply(bareme.getTauxChomage());
         calcul.setCotisationsChomage(arrondir(cotisationsChomage));
         
         // Cotisations retraite
-        BigDecimal cotisationsRetraiteBase = assiettePlafonnee.multiply(TAUX_RETRAITE_BASE);
-        BigDecimal cotisationsRetraiteCompl = salaireBrutTotal.multiply(TAUX_RETRAITE_COMPLEMENTAIRE);
+        BigDecimal cotisationsRetraiteBase = assiettePlafonnee.multiply(bareme.getTauxRetraiteBase());
+        BigDecimal cotisationsRetraiteCompl = salaireBrutTotal.multiply(bareme.getTauxRetraiteComplementaire());
         BigDecimal cotisationsRetraite = cotisationsRetraiteBase.add(cotisationsRetraiteCompl);
         calcul.setCotisationsRetraite(arrondir(cotisationsRetraite));
         
         // CSG et CRDS (sur 98.25% du salaire brut)
-        BigDecimal assietteCsgCrds = salaireBrutTotal.multiply(BigDecimal.valueOf(0.9825));
-        BigDecimal csgDeductible = assietteCsgCrds.multiply(TAUX_CSG_DEDUCTIBLE);
-        BigDecimal csgNonDeductible = assietteCsgCrds.multiply(TAUX_CSG_NON_DEDUCTIBLE);
-        BigDecimal crds = assietteCsgCrds.multiply(TAUX_CRDS);
+        BigDecimal assietteCsgCrds = salaireBrutTotal.multiply(bareme.getAbattementCsgCrds());
+        BigDecimal csgDeductible = assietteCsgCrds.multiply(bareme.getTauxCsgDeductible());
+        BigDecimal csgNonDeductible = assietteCsgCrds.multiply(bareme.getTauxCsgNonDeductible());
+        BigDecimal crds = assietteCsgCrds.multiply(bareme.getTauxCrds());
         BigDecimal cotisationsCsgCrds = csgDeductible.add(csgNonDeductible).add(crds);
         calcul.setCotisationsCsgCrds(arrondir(cotisationsCsgCrds));
         
@@ -109,8 +322,12 @@ public class SalaireCalculatorService {
     
     /**
      * Calcule l'impôt sur le revenu mensuel selon le barème progressif
+     *
+     * La tranche du quotient familial est trouvée par dichotomie dans le barème compilé ;
+     * l'impôt est alors l'impôt cumulé au seuil de cette tranche plus la part au-delà du seuil
+     * à son taux (mêmes valeurs exactes qu'une somme tranche par tranche, même arrondi).
      */
-    private BigDecimal calculerImpotRevenu(BigDecimal revenuImposable, BigDecimal nombreParts) {
+    BigDecimal calculerImpotRevenu(BigDecimal revenuImposable, BigDecimal nombreParts, Bareme bareme) {
         if (revenuImposable.compareTo(BigDecimal.ZERO) <= 0 || nombreParts.compareTo(BigDecimal.ZERO) <= 0) {
             return BigDecimal.ZERO;
         }
@@ -118,48 +335,47 @@ public class SalaireCalculatorService {
         // Calcul du quotient familial
         BigDecimal quotientFamilial = revenuImposable.divide(nombreParts, 2, RoundingMode.HALF_UP);
         
-        BigDecimal impot = BigDecimal.ZERO;
-        
-        // Tranche 1 : 0 à 916,67€ - 0%
-        if (quotientFamilial.compareTo(SEUIL_TRANCHE_1) <= 0) {
+        // En deçà du premier seuil : 0%
+        int tranche = bareme.indiceTranche(quotientFamilial);
+        if (tranche < 0) {
             return BigDecimal.ZERO;
         }
         
-        // Tranche 2 : 916,67€ à 2 291,67€ - 11%
-        if (quotientFamilial.compareTo(SEUIL_TRANCHE_2) > 0) {
-            BigDecimal tranche2 = SEUIL_TRANCHE_2.subtract(SEUIL_TRANCHE_1);
-            impot = impot.add(tranche2.multiply(TAUX_TRANCHE_1));
-        } else {
-            BigDecimal tranche2 = quotientFamilial.subtract(SEUIL_TRANCHE_1);
-            impot = impot.add(tranche2.multiply(TAUX_TRANCHE_1));
-            return arrondir(impot.multiply(nombreParts));
-        }
+        BigDecimal impot = bareme.getImpotCumule(tranche)
+            .add(quotientFamilial.subtract(bareme.getSeuilTranche(tranche)).multiply(bareme.getTauxTranche(tranche)));
         
-        // Tranche 3 : 2 291,67€ à 6 458,33€ - 30%
-        if (quotientFamilial.compareTo(SEUIL_TRANCHE_3) > 0) {
-            BigDecimal tranche3 = SEUIL_TRANCHE_3.subtract(SEUIL_TRANCHE_2);
-            impot = impot.add(tranche3.multiply(TAUX_TRANCHE_2));
-        } else {
-            BigDecimal tranche3 = quotientFamilial.subtract(SEUIL_TRANCHE_2);
-            impot = impot.add(tranche3.multiply(TAUX_TRANCHE_2));
-            return arrondir(impot.multiply(nombreParts));
+        return arrondir(impot.multiply(nombreParts));
+    }
+    
+    /**
+     * Calcule le taux marginal de prélèvement d'un calcul effectué : part (en %) d'un euro brut
+     * supplémentaire absorbée par les cotisations et l'impôt, d'après la pente de chaque
+     * composante au point de calcul (hors effets d'arrondi au centime)
+     */
+    public BigDecimal calculerTauxMarginal(CalculSalaire calcul, Bareme bareme) {
+        // Cotisations retirées du net imposable par euro brut (chômage et retraite de base sous le plafond)
+        BigDecimal tauxCotisations = bareme.getTauxSecuMaladie()
+            .add(bareme.getTauxRetraiteComplementaire())
+            .add(bareme.getAbattementCsgCrds().multiply(bareme.getTauxCsgDeductible().add(bareme.getTauxCrds())));
+        if (calcul.getSalaireBrutTotal().compareTo(bareme.getPlafondChomage()) < 0) {
+            tauxCotisations = tauxCotisations.add(bareme.getTauxChomage()).add(bareme.getTauxRetraiteBase());
         }
         
-        // Tranche 4 : 6 458,33€ à 14 166,67€ - 41%
-        if (quotientFamilial.compareTo(SEUIL_TRANCHE_4) > 0) {
-            BigDecimal tranche4 = SEUIL_TRANCHE_4.subtract(SEUIL_TRANCHE_3);
-            impot = impot.add(tranche4.multiply(TAUX_TRANCHE_3));
-        } else {
-            BigDecimal tranche4 = quotientFamilial.subtract(SEUIL_TRANCHE_3);
-            impot = impot.add(tranche4.multiply(TAUX_TRANCHE_3));
-            return arrondir(impot.multiply(nombreParts));
+        // Taux de la tranche du quotient familial : l'impôt croît de ce taux par euro imposable
+        BigDecimal tauxImpot = BigDecimal.ZERO;
+        BigDecimal netImposable = calcul.getSalaireNetImposable();
+        BigDecimal nombreParts = calcul.getNombreParts();
+        if (netImposable.compareTo(BigDecimal.ZERO) > 0 && nombreParts.compareTo(BigDecimal.ZERO) > 0) {
+            int tranche = bareme.indiceTranche(netImposable.divide(nombreParts, 2, RoundingMode.HALF_UP));
+            if (tranche >= 0) {
+                tauxImpot = bareme.getTauxTranche(tranche);
+            }
         }
         
-        // Tranche 5 : au-delà de 14 166,67€ - 45%
-        BigDecimal tranche5 = quotientFamilial.subtract(SEUIL_TRANCHE_4);
-        impot = impot.add(tranche5.multiply(TAUX_TRANCHE_4));
-        
-        return arrondir(impot.multiply(nombreParts));
+        BigDecimal netParEuro = BigDecimal.ONE.subtract(tauxCotisations).multiply(BigDecimal.ONE.subtract(tauxImpot));
+        return BigDecimal.ONE.subtract(netParEuro)
+            .setScale(4, RoundingMode.HALF_UP)
+            .multiply(BigDecimal.valueOf(100));
     }
     
     /**
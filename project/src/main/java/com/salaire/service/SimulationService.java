@@ -0,0 +1,153 @@
+package com.salaire.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.salaire.bareme.Bareme;
+import com.salaire.dto.DemandeSimulation;
+import com.salaire.dto.PointSimulation;
+import com.salaire.entity.CalculSalaire;
+import com.salaire.entity.CalculSalaire.StatutMarital;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Service de simulation du salaire net sur une grille de salaires bruts
+ *
+ * Le barème est résolu une seule fois par simulation, puis chaque point est calculé
+ * et écrit aussitôt en NDJSON : la mémoire utilisée ne dépend pas de la taille de la grille.
+ */
+@Service
+public class SimulationService {
+    
+    private static final int POINTS_PAR_ENVOI = 500;
+    
+    private static final List<StatutMarital> STATUTS_DEFAUT = List.of(StatutMarital.CELIBATAIRE);
+    private static final List<BigDecimal> PARTS_DEFAUT = List.of(BigDecimal.valueOf(1.0));
+    
+    @Autowired
+    private SalaireCalculatorService calculatorService;
+    
+    @Autowired
+    private BaremeService baremeService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${salaire.simulation.points-max:100000}")
+    private long pointsMax;
+    
+    /**
+     * Vérifie une demande de simulation
+     *
+     * @return le nombre de points de la grille
+     * @throws IllegalArgumentException si la demande est incomplète, sans barème applicable
+     *                                  ou au-delà du nombre maximal de points
+     */
+    public long verifier(DemandeSimulation demande) {
+        if (demande.getBrutMin() == null || demande.getBrutMax() == null || demande.getPas() == null) {
+            throw new IllegalArgumentException("brutMin, brutMax et pas sont obligatoires");
+        }
+        if (demande.getBrutMin().signum() < 0 || demande.getBrutMax().compareTo(demande.getBrutMin()) < 0) {
+            throw new IllegalArgumentException("La plage de salaires bruts est invalide");
+        }
+        if (demande.getPas().signum() <= 0) {
+            throw new IllegalArgumentException("Le pas doit être strictement positif");
+        }
+        for (BigDecimal parts : nombresParts(demande)) {
+            if (parts == null || parts.signum() <= 0) {
+                throw new IllegalArgumentException("Les nombres de parts doivent être strictement positifs");
+            }
+        }
+        bareme(demande);
+        
+        BigDecimal points = nombrePointsParSerie(demande)
+            .multiply(BigDecimal.valueOf((long) statuts(demande).size() * nombresParts(demande).size()));
+        if (points.compareTo(BigDecimal.valueOf(pointsMax)) > 0) {
+            throw new IllegalArgumentException("La simulation ne peut pas dépasser " + pointsMax + " points");
+        }
+        return points.longValue();
+    }
+    
+    /**
+     * Évalue la grille et écrit un point par ligne NDJSON, série par série
+     * (situation familiale, puis nombre de parts) et par salaire brut croissant
+     */
+    public void simuler(DemandeSimulation demande, OutputStream sortie) throws IOException {
+        Bareme bareme = bareme(demande);
+        long pointsParSerie = nombrePointsParSerie(demande).longValueExact();
+        
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(sortie, JsonEncoding.UTF8);
+        generator.setRootValueSeparator(null);
+        // Les envois sont groupés par POINTS_PAR_ENVOI : pas de flush après chaque point
+        ObjectWriter ecrivain = objectMapper.writerFor(PointSimulation.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        
+        long points = 0;
+        for (StatutMarital statut : statuts(demande)) {
+            for (BigDecimal parts : nombresParts(demande)) {
+                BigDecimal brut = demande.getBrutMin();
+                for (long i = 0; i < pointsParSerie; i++) {
+                    CalculSalaire calcul = nouveauCalcul(demande, statut, parts, brut);
+                    calculatorService.calculerSalaireNet(calcul, bareme);
+                    
+                    ecrivain.writeValue(generator,
+                        new PointSimulation(calcul, calculatorService.calculerTauxMarginal(calcul, bareme)));
+                    generator.writeRaw('\n');
+                    if (++points % POINTS_PAR_ENVOI == 0) {
+                        generator.flush();
+                    }
+                    brut = brut.add(demande.getPas());
+                }
+            }
+        }
+        generator.flush();
+    }
+    
+    private Bareme bareme(DemandeSimulation demande) {
+        return baremeService.baremePour(demande.getDate() != null ? demande.getDate() : LocalDate.now());
+    }
+    
+    private static BigDecimal nombrePointsParSerie(DemandeSimulation demande) {
+        return demande.getBrutMax().subtract(demande.getBrutMin())
+            .divide(demande.getPas(), 0, RoundingMode.DOWN)
+            .add(BigDecimal.ONE);
+    }
+    
+    private static List<StatutMarital> statuts(DemandeSimulation demande) {
+        List<StatutMarital> statuts = demande.getStatutsMaritaux();
+        return statuts == null || statuts.isEmpty() ? STATUTS_DEFAUT : statuts;
+    }
+    
+    private static List<BigDecimal> nombresParts(DemandeSimulation demande) {
+        List<BigDecimal> parts = demande.getNombresParts();
+        return parts == null || parts.isEmpty() ? PARTS_DEFAUT : parts;
+    }
+    
+    private static CalculSalaire nouveauCalcul(DemandeSimulation demande, StatutMarital statut,
+                                               BigDecimal parts, BigDecimal brut) {
+        CalculSalaire calcul = new CalculSalaire();
+        calcul.setSalaireBrut(brut);
+        calcul.setPrimes(valeur(demande.getPrimes()));
+        calcul.setIndemnites(valeur(demande.getIndemnites()));
+        calcul.setAvantagesNature(valeur(demande.getAvantagesNature()));
+        calcul.setHeuresSupplementaires(valeur(demande.getHeuresSupplementaires()));
+        calcul.setStatutMarital(statut);
+        calcul.setNombreParts(parts);
+        return calcul;
+    }
+    
+    private static BigDecimal valeur(BigDecimal montant) {
+        return montant != null ? montant : BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,360 @@
+package com.salaire.service;
+
+import com.salaire.dto.AgregatCalculs;
+import com.salaire.dto.CalculResume;
+import com.salaire.dto.TableauDeBord;
+import com.salaire.entity.CalculSalaire;
+import com.salaire.entity.StatistiquesUtilisateur;
+import com.salaire.repository.CalculSalaireRepository;
+import com.salaire.repository.StatistiquesUtilisateurRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Tenue à jour incrémentale des statistiques par utilisateur
+ *
+ * Chaque sauvegarde ou suppression de calcul met à jour la ligne de l'utilisateur (verrouillée
+ * le temps de la transaction) : nombre, sommes, extrema du net, compteurs du mois courant et
+ * du mois précédent et derniers calculs. Le tableau de bord se lit ainsi en une seule ligne,
+ * quelle que soit la taille de l'historique. Seules la suppression d'un extremum et la
+ * réconciliation périodique relisent les calculs de l'utilisateur.
+ */
+@Service
+@Transactional
+public class StatistiquesUtilisateurService {
+    
+    private static final Logger log = LoggerFactory.getLogger(StatistiquesUtilisateurService.class);
+    
+    private static final Comparator<CalculResume> PLUS_RECENT_D_ABORD = Comparator
+        .comparing(CalculResume::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+        .thenComparing(CalculResume::getId, Comparator.reverseOrder());
+    
+    /**
+     * Longueur maximale d'un dernier calcul enregistré : identifiant (19 chiffres), date
+     * à la seconde (19 caractères), brut et net signés (12 caractères chacun), séparateurs
+     */
+    private static final int LONGUEUR_MAX_DERNIER_CALCUL = 19 + 1 + 19 + 1 + 12 + 1 + 12 + 1;
+    
+    @Autowired
+    private StatistiquesUtilisateurRepository statistiquesRepository;
+    
+    @Autowired
+    private CalculSalaireRepository calculSalaireRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${salaire.statistiques.derniers-calculs:5}")
+    private int nombreDerniersCalculs;
+    
+    @PostConstruct
+    public void verifierNombreDerniersCalculs() {
+        int maximum = StatistiquesUtilisateur.LONGUEUR_DERNIERS_CALCULS / LONGUEUR_MAX_DERNIER_CALCUL;
+        if (nombreDerniersCalculs < 1 || nombreDerniersCalculs > maximum) {
+            throw new IllegalStateException("salaire.statistiques.derniers-calculs doit être compris entre 1 et "
+                + maximum + " (taille de la colonne derniers_calculs)");
+        }
+    }
+    
+    /**
+     * Tableau de bord d'un utilisateur ; calculé en base sans être enregistré
+     * si ses statistiques n'existent pas encore
+     */
+    @Transactional(readOnly = true)
+    public TableauDeBord tableauDeBord(Long userId) {
+        StatistiquesUtilisateur stats = statistiquesRepository.findById(userId)
+            .filter(existantes -> existantes.getDerniereModification() != null)
+            .orElseGet(() -> construire(userId, YearMonth.now()));
+        return versTableauDeBord(stats, YearMonth.now());
+    }
+    
+    /**
+     * Initialise les statistiques (vides) d'un nouvel utilisateur
+     */
+    public void initialiser(Long userId) {
+        if (!statistiquesRepository.existsById(userId)) {
+            StatistiquesUtilisateur stats = new StatistiquesUtilisateur(userId);
+            stats.setMoisCourant(YearMonth.now().toString());
+            stats.setDerniereModification(LocalDateTime.now());
+            statistiquesRepository.save(stats);
+        }
+    }
+    
+    /**
+     * Prend en compte des calculs nouvellement sauvegardés pour un utilisateur
+     */
+    public void enregistrerAjouts(Long userId, Collection<CalculSalaire> calculs) {
+        StatistiquesUtilisateur stats = verrouiller(userId);
+        if (stats.getDerniereModification() == null) {
+            // Première mise à jour d'un utilisateur existant : la reconstruction inclut déjà ces calculs
+            recalculer(stats, YearMonth.now());
+            return;
+        }
+        
+        List<CalculResume> derniers = new ArrayList<>(lireDerniers(stats.getDerniersCalculs()));
+        for (CalculSalaire calcul : calculs) {
+            BigDecimal net = montant(calcul.getSalaireNetPayer());
+            stats.setNombreCalculs(stats.getNombreCalculs() + 1);
+            stats.setSommeBrut(stats.getSommeBrut().add(montant(calcul.getSalaireBrut())));
+            stats.setSommeNet(stats.getSommeNet().add(net));
+            if (stats.getMinNet() == null || net.compareTo(stats.getMinNet()) < 0) {
+                stats.setMinNet(net);
+            }
+            if (stats.getMaxNet() == null || net.compareTo(stats.getMaxNet()) > 0) {
+                stats.setMaxNet(net);
+            }
+            ajouterAuMois(stats, calcul.getCreatedAt(), net);
+            derniers.add(new CalculResume(calcul.getId(), calcul.getCreatedAt(), calcul.getSalaireBrut(),
+                calcul.getSalaireNetPayer(), calcul.getDescription()));
+        }
+        derniers.sort(PLUS_RECENT_D_ABORD);
+        stats.setDerniersCalculs(ecrireDerniers(derniers));
+        stats.setDerniereModification(LocalDateTime.now());
+    }
+    
+    /**
+     * Prend en compte la suppression d'un calcul d'un utilisateur
+     */
+    public void enregistrerSuppression(Long userId, CalculResume calcul) {
+        StatistiquesUtilisateur stats = verrouiller(userId);
+        if (stats.getDerniereModification() == null) {
+            recalculer(stats, YearMonth.now());
+            return;
+        }
+        
+        BigDecimal net = montant(calcul.getSalaireNetPayer());
+        if (stats.getNombreCalculs() <= 1
+                || (stats.getMinNet() != null && net.compareTo(stats.getMinNet()) <= 0)
+                || (stats.getMaxNet() != null && net.compareTo(stats.getMaxNet()) >= 0)) {
+            // Extremum supprimé : il faut relire les calculs restants
+            recalculer(stats, YearMonth.now());
+            return;
+        }
+        
+        stats.setNombreCalculs(stats.getNombreCalculs() - 1);
+        stats.setSommeBrut(stats.getSommeBrut().subtract(montant(calcul.getSalaireBrut())));
+        stats.setSommeNet(stats.getSommeNet().subtract(net));
+        retirerDuMois(stats, calcul.getCreatedAt(), net);
+        
+        List<CalculResume> derniers = lireDerniers(stats.getDerniersCalculs());
+        if (derniers.stream().anyMatch(resume -> resume.getId().equals(calcul.getId()))) {
+            stats.setDerniersCalculs(ecrireDerniers(derniersCalculsEnBase(userId)));
+        }
+        stats.setDerniereModification(LocalDateTime.now());
+    }
+    
+    /**
+     * Reconstruit les statistiques d'un utilisateur à partir de ses calculs
+     */
+    public void recalculer(Long userId) {
+        recalculer(verrouiller(userId), YearMonth.now());
+    }
+    
+    /**
+     * Supprime les statistiques d'un utilisateur
+     */
+    public void supprimer(Long userId) {
+        statistiquesRepository.deleteByUserIdDirect(userId);
+    }
+    
+    /**
+     * Réconciliation périodique : reconstruit les statistiques de chaque utilisateur,
+     * une transaction par utilisateur, pour corriger toute dérive (écritures hors service, reprise)
+     */
+    @Scheduled(cron = "${salaire.statistiques.reconciliation.cron:0 30 3 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int reconcilier() {
+        Set<Long> userIds = new TreeSet<>(calculSalaireRepository.findUserIdsAvecCalculs());
+        userIds.addAll(statistiquesRepository.findUserIds());
+        
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int reconcilies = 0;
+        for (Long userId : userIds) {
+            try {
+                transaction.executeWithoutResult(statut -> recalculer(userId));
+                reconcilies++;
+            } catch (RuntimeException e) {
+                log.warn("Réconciliation des statistiques impossible pour l'utilisateur {}", userId, e);
+            }
+        }
+        log.info("Statistiques réconciliées pour {} utilisateur(s)", reconcilies);
+        return reconcilies;
+    }
+    
+    /**
+     * Lit et verrouille la ligne d'un utilisateur, créée au besoin à reconstruire
+     *
+     * La création se fait dans la transaction en cours, sans autre connexion ; une création
+     * concurrente de la même ligne attend la fin de l'autre transaction au lieu d'échouer.
+     */
+    private StatistiquesUtilisateur verrouiller(Long userId) {
+        if (!statistiquesRepository.existsById(userId)) {
+            statistiquesRepository.insererSiAbsente(userId);
+        }
+        return statistiquesRepository.findPourMiseAJour(userId)
+            .orElseThrow(() -> new IllegalStateException("Statistiques introuvables pour l'utilisateur " + userId));
+    }
+    
+    private StatistiquesUtilisateur construire(Long userId, YearMonth mois) {
+        StatistiquesUtilisateur stats = new StatistiquesUtilisateur(userId);
+        recalculer(stats, mois);
+        return stats;
+    }
+    
+    private void recalculer(StatistiquesUtilisateur stats, YearMonth mois) {
+        Long userId = stats.getUserId();
+        AgregatCalculs total = calculSalaireRepository.agregerParUtilisateur(userId);
+        AgregatCalculs moisCourant = calculSalaireRepository.agregerParUtilisateurEntre(userId,
+            mois.atDay(1).atStartOfDay(), mois.plusMonths(1).atDay(1).atStartOfDay());
+        AgregatCalculs moisPrecedent = calculSalaireRepository.agregerParUtilisateurEntre(userId,
+            mois.minusMonths(1).atDay(1).atStartOfDay(), mois.atDay(1).atStartOfDay());
+        
+        stats.setNombreCalculs(total.getNombre());
+        stats.setSommeBrut(total.getSommeBrut());
+        stats.setSommeNet(total.getSommeNet());
+        stats.setMinNet(total.getMinNet());
+        stats.setMaxNet(total.getMaxNet());
+        stats.setMoisCourant(mois.toString());
+        stats.setNombreMoisCourant(moisCourant.getNombre());
+        stats.setSommeNetMoisCourant(moisCourant.getSommeNet());
+        stats.setNombreMoisPrecedent(moisPrecedent.getNombre());
+        stats.setSommeNetMoisPrecedent(moisPrecedent.getSommeNet());
+        stats.setDerniersCalculs(ecrireDerniers(derniersCalculsEnBase(userId)));
+        stats.setDerniereModification(LocalDateTime.now());
+    }
+    
+    private List<CalculResume> derniersCalculsEnBase(Long userId) {
+        return calculSalaireRepository.findResumesByUserId(userId, PageRequest.of(0, nombreDerniersCalculs));
+    }
+    
+    /**
+     * Ajoute un calcul aux compteurs mensuels, en faisant glisser les mois si le calcul
+     * appartient à un mois postérieur au mois courant enregistré
+     */
+    private void ajouterAuMois(StatistiquesUtilisateur stats, LocalDateTime date, BigDecimal net) {
+        if (date == null) {
+            return;
+        }
+        YearMonth mois = YearMonth.from(date);
+        YearMonth courant = stats.getMoisCourant() != null ? YearMonth.parse(stats.getMoisCourant()) : null;
+        
+        if (courant == null || mois.isAfter(courant)) {
+            boolean consecutif = courant != null && mois.equals(courant.plusMonths(1));
+            stats.setNombreMoisPrecedent(consecutif ? stats.getNombreMoisCourant() : 0);
+            stats.setSommeNetMoisPrecedent(consecutif ? stats.getSommeNetMoisCourant() : BigDecimal.ZERO);
+            stats.setNombreMoisCourant(0);
+            stats.setSommeNetMoisCourant(BigDecimal.ZERO);
+            stats.setMoisCourant(mois.toString());
+            courant = mois;
+        }
+        
+        if (mois.equals(courant)) {
+            stats.setNombreMoisCourant(stats.getNombreMoisCourant() + 1);
+            stats.setSommeNetMoisCourant(stats.getSommeNetMoisCourant().add(net));
+        } else if (mois.equals(courant.minusMonths(1))) {
+            stats.setNombreMoisPrecedent(stats.getNombreMoisPrecedent() + 1);
+            stats.setSommeNetMoisPrecedent(stats.getSommeNetMoisPrecedent().add(net));
+        }
+    }
+    
+    private void retirerDuMois(StatistiquesUtilisateur stats, LocalDateTime date, BigDecimal net) {
+        if (date == null || stats.getMoisCourant() == null) {
+            return;
+        }
+        YearMonth mois = YearMonth.from(date);
+        YearMonth courant = YearMonth.parse(stats.getMoisCourant());
+        if (mois.equals(courant)) {
+            stats.setNombreMoisCourant(Math.max(stats.getNombreMoisCourant() - 1, 0));
+            stats.setSommeNetMoisCourant(stats.getSommeNetMoisCourant().subtract(net));
+        } else if (mois.equals(courant.minusMonths(1))) {
+            stats.setNombreMoisPrecedent(Math.max(stats.getNombreMoisPrecedent() - 1, 0));
+            stats.setSommeNetMoisPrecedent(stats.getSommeNetMoisPrecedent().subtract(net));
+        }
+    }
+    
+    /**
+     * Les compteurs mensuels sont relatifs au mois de la dernière écriture :
+     * ils sont décalés à la lecture si le mois a changé depuis
+     */
+    private TableauDeBord versTableauDeBord(StatistiquesUtilisateur stats, YearMonth mois) {
+        long nombreCourant = 0;
+        BigDecimal sommeCourant = BigDecimal.ZERO;
+        long nombrePrecedent = 0;
+        BigDecimal sommePrecedent = BigDecimal.ZERO;
+        
+        YearMonth enregistre = stats.getMoisCourant() != null ? YearMonth.parse(stats.getMoisCourant()) : null;
+        if (mois.equals(enregistre)) {
+            nombreCourant = stats.getNombreMoisCourant();
+            sommeCourant = stats.getSommeNetMoisCourant();
+            nombrePrecedent = stats.getNombreMoisPrecedent();
+            sommePrecedent = stats.getSommeNetMoisPrecedent();
+        } else if (mois.minusMonths(1).equals(enregistre)) {
+            nombrePrecedent = stats.getNombreMoisCourant();
+            sommePrecedent = stats.getSommeNetMoisCourant();
+        }
+        
+        return new TableauDeBord(stats.getNombreCalculs(), stats.getSommeBrut(), stats.getSommeNet(),
+            stats.getMinNet(), stats.getMaxNet(), nombreCourant, sommeCourant, nombrePrecedent, sommePrecedent,
+            lireDerniers(stats.getDerniersCalculs()), stats.getDerniereModification());
+    }
+    
+    /**
+     * Format des derniers calculs : "id|createdAt|brut|net" séparés par des ';' (sans la description),
+     * dates à la seconde
+     */
+    private String ecrireDerniers(List<CalculResume> derniers) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < derniers.size() && i < nombreDerniersCalculs; i++) {
+            CalculResume resume = derniers.get(i);
+            if (i > 0) {
+                sb.append(';');
+            }
+            sb.append(resume.getId()).append('|')
+              .append(resume.getCreatedAt() != null ? resume.getCreatedAt().truncatedTo(ChronoUnit.SECONDS) : "").append('|')
+              .append(resume.getSalaireBrut() != null ? resume.getSalaireBrut().toPlainString() : "").append('|')
+              .append(resume.getSalaireNetPayer() != null ? resume.getSalaireNetPayer().toPlainString() : "");
+        }
+        return sb.toString();
+    }
+    
+    private static List<CalculResume> lireDerniers(String derniers) {
+        List<CalculResume> resumes = new ArrayList<>();
+        if (derniers == null || derniers.isEmpty()) {
+            return resumes;
+        }
+        for (String entree : derniers.split(";")) {
+            String[] champs = entree.split("\\|", -1);
+            resumes.add(new CalculResume(Long.valueOf(champs[0]),
+                champs[1].isEmpty() ? null : LocalDateTime.parse(champs[1]),
+                champs[2].isEmpty() ? null : new BigDecimal(champs[2]),
+                champs[3].isEmpty() ? null : new BigDecimal(champs[3]),
+                null));
+        }
+        return resumes;
+    }
+    
+    private static BigDecimal montant(BigDecimal valeur) {
+        return valeur != null ? valeur : BigDecimal.ZERO;
+    }
+}
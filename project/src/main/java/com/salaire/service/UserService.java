@@ -2,10 +2,18 @@ package com.salaire.service;
 
 import com.salaire.entity.User;
 import com.salaire.repository.UserRepository;
+import com.salaire.security.JetonService;
+import com.salaire.security.UtilisateurDetailsService;
+import com.salaire.security.UtilisateurPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -24,6 +32,18 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private CalculSalaireService calculSalaireService;
+    
+    @Autowired
+    private UtilisateurDetailsService utilisateurDetailsService;
+    
+    @Autowired
+    private StatistiquesUtilisateurService statistiquesService;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
     /**
      * Enregistre un nouvel utilisateur
      */
@@ -33,7 +53,9 @@ public class UserService {
         user.setCreatedAt(LocalDateTime.now());
         user.setUpdatedAt(LocalDateTime.now());
         
-        return userRepository.save(user);
+        User resultat = userRepository.save(user);
+        statistiquesService.initialiser(resultat.getId());
+        return resultat;
     }
     
     /**
@@ -44,6 +66,32 @@ public class UserService {
         return userRepository.findByUsername(username);
     }
     
+    /**
+     * Identifiant de l'utilisateur authentifié, lu dans le principal ou le jeton de l'API sans accès à la base
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> trouverIdUtilisateurCourant(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return Optional.empty();
+        }
+        if (authentication.getPrincipal() instanceof UtilisateurPrincipal principal) {
+            return Optional.ofNullable(principal.getId());
+        }
+        if (authentication.getPrincipal() instanceof Jwt jeton && jeton.hasClaim(JetonService.CLAIM_UID)) {
+            return Optional.of(((Number) jeton.getClaim(JetonService.CLAIM_UID)).longValue());
+        }
+        return userRepository.findByUsername(authentication.getName()).map(User::getId);
+    }
+    
+    /**
+     * Utilisateur authentifié sous forme de référence non chargée : suffit pour rattacher
+     * un calcul ou filtrer une requête, sans lecture de l'utilisateur en base
+     */
+    @Transactional(readOnly = true)
+    public Optional<User> trouverUtilisateurCourant(Authentication authentication) {
+        return trouverIdUtilisateurCourant(authentication).map(userRepository::getReferenceById);
+    }
+    
     /**
      * Trouve un utilisateur par son email
      */
@@ -97,7 +145,9 @@ public class UserService {
      */
     public User mettreAJourUtilisateur(User user) {
         user.setUpdatedAt(LocalDateTime.now());
-        return userRepository.save(user);
+        User resultat = userRepository.save(user);
+        utilisateurDetailsService.invalider(resultat.getId(), resultat.getUsername());
+        return resultat;
     }
     
     /**
@@ -107,6 +157,7 @@ public class UserService {
         user.setPassword(passwordEncoder.encode(nouveauMotDePasse));
         user.setUpdatedAt(LocalDateTime.now());
         userRepository.save(user);
+        utilisateurDetailsService.invalider(user.getId(), user.getUsername());
     }
     
     /**
@@ -117,10 +168,18 @@ public class UserService {
     }
     
     /**
-     * Supprime un utilisateur
+     * Supprime un utilisateur et ses calculs
+     * Les calculs sont supprimés par tranches ensemblistes au lieu de la cascade de {@code User.calculs},
+     * qui chargeait puis supprimait chaque calcul un par un ; une reprise après échec est sans risque.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void supprimerUtilisateur(Long userId) {
-        userRepository.deleteById(userId);
+        calculSalaireService.supprimerTousCalculsUtilisateur(userId);
+        new TransactionTemplate(transactionManager).executeWithoutResult(statut -> {
+            statistiquesService.supprimer(userId);
+            userRepository.deleteByIdDirect(userId);
+        });
+        utilisateurDetailsService.invalider(userId, null);
     }
     
     /**
@@ -0,0 +1,60 @@
+package com.salaire.service;
+
+import com.salaire.entity.CalculSalaire;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Un résultat servi par le cache ne dépend que des entrées du calcul,
+ * jamais des autres champs reçus du premier appelant
+ */
+class CacheCalculServiceTest {
+    
+    private CacheCalculService cacheCalculService;
+    
+    @BeforeEach
+    void creerCache() {
+        BaremeService baremeService = new BaremeService("classpath*:baremes/*.properties");
+        baremeService.recharger();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SalaireCalculatorService calculatorService = new SalaireCalculatorService(baremeService, "decimal", meterRegistry);
+        cacheCalculService = new CacheCalculService(calculatorService, baremeService, true, 100, meterRegistry);
+    }
+    
+    @Test
+    void tauxRecuSansBrutPositifNonRepris() {
+        CalculSalaire premier = calcul("100", "-200");
+        premier.setTauxPrelevement(new BigDecimal("42"));
+        cacheCalculService.calculer(premier);
+        assertEquals(BigDecimal.ZERO, premier.getTauxPrelevement());
+        
+        CalculSalaire second = cacheCalculService.calculer(calcul("100", "-200"));
+        assertEquals(BigDecimal.ZERO, second.getTauxPrelevement());
+        assertEquals(1L, cacheCalculService.statistiques().get("succes"));
+    }
+    
+    @Test
+    void memeResultatEnCacheQueCalculeEchelleComprise() {
+        CalculSalaire premier = cacheCalculService.calculer(calcul("3000.000", null));
+        CalculSalaire second = cacheCalculService.calculer(calcul("3000", null));
+        
+        assertEquals(new BigDecimal("2367.23"), premier.getSalaireNetImposable());
+        assertEquals(premier.getSalaireNetImposable(), second.getSalaireNetImposable());
+        assertEquals(premier.getSalaireNetPayer(), second.getSalaireNetPayer());
+        assertEquals(premier.getTauxPrelevement(), second.getTauxPrelevement());
+        assertEquals(1L, cacheCalculService.statistiques().get("succes"));
+    }
+    
+    private static CalculSalaire calcul(String brut, String primes) {
+        CalculSalaire calcul = new CalculSalaire();
+        calcul.setSalaireBrut(new BigDecimal(brut));
+        calcul.setPrimes(primes != null ? new BigDecimal(primes) : null);
+        calcul.setNombreParts(BigDecimal.ONE);
+        return calcul;
+    }
+}
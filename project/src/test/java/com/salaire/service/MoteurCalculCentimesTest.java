@@ -0,0 +1,158 @@
+package com.salaire.service;
+
+import com.salaire.bareme.Bareme;
+import com.salaire.entity.CalculSalaire;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Comparaison différentielle du moteur en centimes avec le calcul de référence en BigDecimal :
+ * sur des entrées tirées au hasard (échelles mixtes, éléments de rémunération nuls ou négatifs,
+ * 0 à 9,9 parts, montants jusqu'à la limite des colonnes), chaque résultat doit être identique,
+ * échelle comprise, pour chaque barème fourni.
+ */
+class MoteurCalculCentimesTest {
+    
+    private static final int TIRAGES = 200_000;
+    
+    private static BaremeService baremeService;
+    private static SalaireCalculatorService calculatorService;
+    
+    @BeforeAll
+    static void chargerBaremes() {
+        baremeService = new BaremeService("classpath*:baremes/*.properties");
+        baremeService.recharger();
+        calculatorService = new SalaireCalculatorService(baremeService, "decimal", new SimpleMeterRegistry());
+    }
+    
+    @Test
+    void resultatsIdentiquesAuCalculDecimal() {
+        List<Bareme> baremes = baremeService.lister();
+        assertFalse(baremes.isEmpty());
+        
+        Random aleatoire = new Random(20250101L);
+        for (Bareme bareme : baremes) {
+            assertNotNull(bareme.getCentimes(), "Barème " + bareme.getVersion() + " non compilé en centimes");
+            
+            int calculesEnCentimes = 0;
+            for (int i = 0; i < TIRAGES; i++) {
+                CalculSalaire entree = tirer(aleatoire);
+                CalculSalaire centimes = copier(entree);
+                if (!MoteurCalculCentimes.calculer(centimes, bareme.getCentimes())) {
+                    continue;
+                }
+                calculesEnCentimes++;
+                CalculSalaire reference = calculatorService.calculerSalaireNetDecimal(copier(entree), bareme);
+                comparer(reference, centimes, bareme.getVersion() + " " + decrire(entree));
+            }
+            // Seules les entrées à plus de 2 décimales ou au centième de part sont écartées
+            assertTrue(calculesEnCentimes > TIRAGES * 3 / 4,
+                "Trop peu de calculs en centimes : " + calculesEnCentimes + " / " + TIRAGES);
+        }
+    }
+    
+    @Test
+    void entreesNonExprimablesEnCentimesRefusees() {
+        Bareme bareme = baremeService.lister().get(0);
+        
+        CalculSalaire millimes = new CalculSalaire();
+        millimes.setSalaireBrut(new BigDecimal("2500.005"));
+        assertFalse(MoteurCalculCentimes.calculer(millimes, bareme.getCentimes()));
+        assertNull(millimes.getSalaireNetPayer());
+        
+        CalculSalaire centiemesDePart = new CalculSalaire();
+        centiemesDePart.setSalaireBrut(new BigDecimal("2500.00"));
+        centiemesDePart.setNombreParts(new BigDecimal("1.25"));
+        assertFalse(MoteurCalculCentimes.calculer(centiemesDePart, bareme.getCentimes()));
+        assertNull(centiemesDePart.getSalaireNetPayer());
+    }
+    
+    private static void comparer(CalculSalaire attendu, CalculSalaire obtenu, String contexte) {
+        assertEquals(attendu.getCotisationsSecu(), obtenu.getCotisationsSecu(), "cotisationsSecu " + contexte);
+        assertEquals(attendu.getCotisationsChomage(), obtenu.getCotisationsChomage(), "cotisationsChomage " + contexte);
+        assertEquals(attendu.getCotisationsRetraite(), obtenu.getCotisationsRetraite(), "cotisationsRetraite " + contexte);
+        assertEquals(attendu.getCotisationsCsgCrds(), obtenu.getCotisationsCsgCrds(), "cotisationsCsgCrds " + contexte);
+        assertEquals(attendu.getTotalCotisations(), obtenu.getTotalCotisations(), "totalCotisations " + contexte);
+        assertEquals(attendu.getSalaireNetImposable(), obtenu.getSalaireNetImposable(), "salaireNetImposable " + contexte);
+        assertEquals(attendu.getImpotRevenu(), obtenu.getImpotRevenu(), "impotRevenu " + contexte);
+        assertEquals(attendu.getSalaireNetPayer(), obtenu.getSalaireNetPayer(), "salaireNetPayer " + contexte);
+        assertEquals(attendu.getTauxPrelevement(), obtenu.getTauxPrelevement(), "tauxPrelevement " + contexte);
+    }
+    
+    private static CalculSalaire tirer(Random aleatoire) {
+        CalculSalaire calcul = new CalculSalaire();
+        // Brut jusqu'à 20 000 € le plus souvent, jusqu'à la limite de la colonne (10 chiffres dont 2 décimales) sinon
+        long maxCentimes = aleatoire.nextInt(10) == 0 ? 9_999_999_999L : 2_000_000L;
+        calcul.setSalaireBrut(montant(aleatoire, aleatoire.nextLong(1, maxCentimes + 1)));
+        calcul.setPrimes(element(aleatoire));
+        calcul.setIndemnites(element(aleatoire));
+        calcul.setAvantagesNature(element(aleatoire));
+        calcul.setHeuresSupplementaires(element(aleatoire));
+        CalculSalaire.StatutMarital[] statuts = CalculSalaire.StatutMarital.values();
+        calcul.setStatutMarital(statuts[aleatoire.nextInt(statuts.length)]);
+        calcul.setNombreParts(parts(aleatoire));
+        return calcul;
+    }
+    
+    /**
+     * Élément de rémunération : absent, nul, négatif ou positif
+     */
+    private static BigDecimal element(Random aleatoire) {
+        return switch (aleatoire.nextInt(5)) {
+            case 0 -> null;
+            case 1 -> BigDecimal.ZERO;
+            case 2 -> montant(aleatoire, -aleatoire.nextLong(1, 50_000));
+            default -> montant(aleatoire, aleatoire.nextLong(1, 500_000));
+        };
+    }
+    
+    /**
+     * Montant en centimes, écrit avec 0 à 2 décimales (ou 3, non exprimable en centimes)
+     */
+    private static BigDecimal montant(Random aleatoire, long centimes) {
+        BigDecimal montant = BigDecimal.valueOf(centimes, 2);
+        return switch (aleatoire.nextInt(20)) {
+            case 0 -> montant.setScale(3);
+            case 1, 2 -> centimes % 100 == 0 ? montant.setScale(0) : montant;
+            case 3, 4 -> centimes % 10 == 0 ? montant.setScale(1) : montant;
+            default -> montant;
+        };
+    }
+    
+    private static BigDecimal parts(Random aleatoire) {
+        return switch (aleatoire.nextInt(20)) {
+            case 0 -> BigDecimal.valueOf(aleatoire.nextInt(1000), 2);
+            case 1 -> BigDecimal.valueOf(aleatoire.nextInt(10));
+            default -> BigDecimal.valueOf(aleatoire.nextInt(100), 1);
+        };
+    }
+    
+    private static CalculSalaire copier(CalculSalaire entree) {
+        CalculSalaire copie = new CalculSalaire();
+        copie.setSalaireBrut(entree.getSalaireBrut());
+        copie.setPrimes(entree.getPrimes());
+        copie.setIndemnites(entree.getIndemnites());
+        copie.setAvantagesNature(entree.getAvantagesNature());
+        copie.setHeuresSupplementaires(entree.getHeuresSupplementaires());
+        copie.setStatutMarital(entree.getStatutMarital());
+        copie.setNombreParts(entree.getNombreParts());
+        return copie;
+    }
+    
+    private static String decrire(CalculSalaire calcul) {
+        return "[brut=" + calcul.getSalaireBrut() + ", primes=" + calcul.getPrimes()
+            + ", indemnites=" + calcul.getIndemnites() + ", avantages=" + calcul.getAvantagesNature()
+            + ", heuresSup=" + calcul.getHeuresSupplementaires() + ", parts=" + calcul.getNombreParts() + "]";
+    }
+}